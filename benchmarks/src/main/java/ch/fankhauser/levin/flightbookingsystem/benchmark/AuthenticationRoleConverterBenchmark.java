@@ -0,0 +1,96 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import ch.fankhauser.levin.flightbookingsystem.security.AuthenticationRoleConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationRoleConverterBenchmark {
+
+	private static final int CACHE_SIZE = 10_000;
+
+	@Param({ "user", "admin" })
+	private String role;
+
+	/**
+	 * A single token measures the cached path, more distinct tokens than the cache holds mostly measure misses.
+	 */
+	@Param({ "1", "50000" })
+	private int tokens;
+
+	private AuthenticationRoleConverter converter;
+	private Jwt[] jwts;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		converter = new AuthenticationRoleConverter(CACHE_SIZE);
+		jwts = new Jwt[tokens];
+		for (int i = 0; i < tokens; i++) {
+			jwts[i] = keycloakToken(role, "eyJhbGciOiJSUzI1NiIsInR5cCIgOiAiSldUIn0.payload.signature" + i);
+		}
+	}
+
+	@Benchmark
+	public AbstractAuthenticationToken convert() {
+		Jwt jwt = jwts[next];
+		next = next + 1 == tokens ? 0 : next + 1;
+		return converter.convert(jwt);
+	}
+
+	static Jwt keycloakToken(String role, String tokenValue) {
+		Instant issuedAt = Instant.now();
+		List<String> clientRoles = role.equals("admin") ? List.of("admin", "user") : List.of("user");
+		return Jwt.withTokenValue(tokenValue)
+				.header("alg", "RS256")
+				.header("typ", "JWT")
+				.header("kid", "3sHqz3Q0c1bRj4uT8b1Yk0QwX6h2GfQe7W9nJm5pLrA")
+				.issuer("http://localhost:8080/realms/FLIGHT-BOOKING-SYSTEM")
+				.subject(UUID.randomUUID().toString())
+				.audience(List.of("account"))
+				.issuedAt(issuedAt)
+				.expiresAt(issuedAt.plusSeconds(300))
+				.claim("auth_time", issuedAt.getEpochSecond())
+				.claim("jti", UUID.randomUUID().toString())
+				.claim("typ", "Bearer")
+				.claim("azp", "flight-booking-system")
+				.claim("session_state", UUID.randomUUID().toString())
+				.claim("sid", UUID.randomUUID().toString())
+				.claim("acr", "1")
+				.claim("allowed-origins", List.of("http://localhost:4200"))
+				.claim("realm_access", Map.of("roles", List.of("default-roles-flight-booking-system", "offline_access", "uma_authorization")))
+				.claim("resource_access", Map.of(
+						"flight-booking-system", Map.of("roles", clientRoles),
+						"account", Map.of("roles", List.of("manage-account", "manage-account-links", "view-profile"))))
+				.claim("scope", "openid profile email")
+				.claim("email_verified", true)
+				.claim("name", "Max Mustermann")
+				.claim("preferred_username", role + "1")
+				.claim("given_name", "Max")
+				.claim("family_name", "Mustermann")
+				.claim("email", role + "1@example.com")
+				.build();
+	}
+}
@@ -0,0 +1,77 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration(proxyBeanMethods = false)
+@ImportAutoConfiguration({ DataSourceAutoConfiguration.class, FlywayAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+		TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class })
+@EntityScan("ch.fankhauser.levin.flightbookingsystem")
+@EnableJpaRepositories("ch.fankhauser.levin.flightbookingsystem")
+class BenchmarkDatabase {
+
+	static final int AIRPLANES = 100;
+	static final int BOOKINGS_PER_FLIGHT = 100;
+	static final int BOOKINGS_PER_PASSENGER = 10;
+	static final int BOOKINGS_PER_USER = 100;
+
+	private BenchmarkDatabase() {
+	}
+
+	static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(BenchmarkDatabase.class)
+				.web(WebApplicationType.NONE)
+				.bannerMode(Banner.Mode.OFF)
+				.logStartupInfo(false)
+				.run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.datasource.driver-class-name=org.h2.Driver",
+						"--spring.jpa.show-sql=false",
+						"--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+						"--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+						"--logging.level.root=WARN");
+	}
+
+	static void seed(JdbcTemplate jdbcTemplate, int bookings) {
+		int flights = Math.max(bookings / BOOKINGS_PER_FLIGHT, AIRPLANES);
+		int passengers = Math.max(bookings / BOOKINGS_PER_PASSENGER, 1);
+		int users = Math.max(bookings / BOOKINGS_PER_USER, 1);
+		jdbcTemplate.update("""
+				INSERT INTO airplane (id, brand, model, construction_year, airline, seat_capacity, created_by)
+				SELECT x, 'Airbus', 'A320-' || x, 2015, 'Swiss', 180, 'admin' FROM SYSTEM_RANGE(1, ?)
+				""", AIRPLANES);
+		jdbcTemplate.update("""
+				INSERT INTO flight (id, airplane_id, origin, destination, departure, arrival, created_by)
+				SELECT x, 1 + MOD(x, ?), 'AP' || MOD(x, 20), 'AP' || MOD(x / 20, 20),
+				       DATEADD('MINUTE', x * 7, TIMESTAMP '2025-01-01 00:00:00'),
+				       DATEADD('MINUTE', x * 7 + 120, TIMESTAMP '2025-01-01 00:00:00'), 'admin'
+				FROM SYSTEM_RANGE(1, ?)
+				""", AIRPLANES, flights);
+		jdbcTemplate.update("""
+				INSERT INTO passenger (id, lastname, firstname, age, nationality, created_by)
+				SELECT x, 'Mustermann', 'Max' || x, 18 + MOD(x, 60), 'CH', 'user' || MOD(x, ?) FROM SYSTEM_RANGE(1, ?)
+				""", users, passengers);
+		jdbcTemplate.update("""
+				INSERT INTO booking (id, passenger_id, origin, destination, departure, arrival, first_flight_id, second_flight_id,
+				                     third_flight_id, booking_date, created_by)
+				SELECT x, 1 + MOD(x, ?), 'AP1', 'AP2', TIMESTAMP '2025-01-01 00:00:00', TIMESTAMP '2025-01-01 06:00:00',
+				       1 + MOD(x, ?), CASE WHEN MOD(x, 3) = 0 THEN 1 + MOD(x + 1, ?) END, NULL,
+				       TIMESTAMP '2024-12-01 00:00:00', 'user' || MOD(x, ?)
+				FROM SYSTEM_RANGE(1, ?)
+				""", passengers, flights, flights, users, bookings);
+		jdbcTemplate.execute("ANALYZE");
+	}
+}
@@ -0,0 +1,20 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkMain {
+
+	private BenchmarkMain() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<String> arguments = new ArrayList<>(List.of(args));
+		if (!arguments.contains("-rf")) {
+			arguments.addAll(List.of("-rf", "json"));
+		}
+		Main.main(arguments.toArray(String[]::new));
+	}
+}
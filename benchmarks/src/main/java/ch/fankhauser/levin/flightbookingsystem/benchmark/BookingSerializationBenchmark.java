@@ -0,0 +1,103 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.booking.Booking;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization cost and size of a booking page per response format, with and without gzip. The size of each result is
+ * reported as the secondary result {@code bytes} next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingSerializationBenchmark {
+
+	@Param({ "1", "50", "500" })
+	private int bookings;
+
+	@Param({ "1", "3" })
+	private int legs;
+
+	@Param({ "json", "cbor", "smile" })
+	private String format;
+
+	private ObjectMapper objectMapper;
+	private CursorPage<Booking> page;
+
+	@Setup
+	public void setUp() {
+		Jackson2ObjectMapperBuilder builder = switch (format) {
+			case "json" -> Jackson2ObjectMapperBuilder.json();
+			case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+			case "smile" -> Jackson2ObjectMapperBuilder.smile();
+			default -> throw new IllegalArgumentException("Unknown format: " + format);
+		};
+		objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+		Airplane airplane = Fixtures.airplane(1);
+		Flight[] itinerary = Fixtures.itinerary(airplane, legs);
+		List<Booking> items = new ArrayList<>(bookings);
+		for (int i = 1; i <= bookings; i++) {
+			items.add(Fixtures.booking(i, Fixtures.passenger(i), itinerary));
+		}
+		page = new CursorPage<>(items, Cursor.encode((long) bookings));
+	}
+
+	/**
+	 * Holds the size of the last serialized page. JMH reports public fields of an {@code EVENTS} counter as they are at
+	 * the end of an iteration, so assigning rather than adding keeps the value at one page. The values of all threads are
+	 * summed, so the sizes are only meaningful in single-threaded runs, which is the default.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Size {
+
+		public long bytes;
+	}
+
+	@Benchmark
+	public byte[] serializePage(Size size) throws JsonProcessingException {
+		byte[] serialized = objectMapper.writeValueAsBytes(page);
+		size.bytes = serialized.length;
+		return serialized;
+	}
+
+	@Benchmark
+	public byte[] serializeAndGzipPage(Size size) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+			objectMapper.writeValue(gzip, page);
+		}
+		byte[] compressed = bytes.toByteArray();
+		size.bytes = compressed.length;
+		return compressed;
+	}
+}
@@ -0,0 +1,76 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.booking.Booking;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+
+import java.time.LocalDateTime;
+
+final class Fixtures {
+
+	static final LocalDateTime DAY = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+	private Fixtures() {
+	}
+
+	static Airplane airplane(long id) {
+		Airplane airplane = new Airplane();
+		airplane.setId(id);
+		airplane.setBrand("Airbus");
+		airplane.setModel("A320neo");
+		airplane.setConstructionYear(2019);
+		airplane.setAirline("Swiss International Air Lines");
+		airplane.setSeatCapacity(Integer.MAX_VALUE);
+		airplane.setCreatedBy("admin");
+		return airplane;
+	}
+
+	static Flight flight(long id, Airplane airplane, String origin, String destination, int hour) {
+		Flight flight = new Flight();
+		flight.setId(id);
+		flight.setAirplane(airplane);
+		flight.setOrigin(origin);
+		flight.setDestination(destination);
+		flight.setDeparture(DAY.plusHours(hour));
+		flight.setArrival(DAY.plusHours(hour + 2));
+		flight.setCreatedBy("admin");
+		return flight;
+	}
+
+	static Passenger passenger(long id) {
+		Passenger passenger = new Passenger();
+		passenger.setId(id);
+		passenger.setFirstname("Maximilian");
+		passenger.setLastname("Mustermann");
+		passenger.setAge(34);
+		passenger.setNationality("Switzerland");
+		passenger.setCreatedBy("user1");
+		return passenger;
+	}
+
+	static Booking booking(long id, Passenger passenger, Flight... legs) {
+		Booking booking = new Booking();
+		booking.setId(id);
+		booking.setPassenger(passenger);
+		booking.setOrigin(legs[0].getOrigin());
+		booking.setDestination(legs[legs.length - 1].getDestination());
+		booking.setDeparture(legs[0].getDeparture());
+		booking.setArrival(legs[legs.length - 1].getArrival());
+		booking.setFirstFlight(legs[0]);
+		booking.setSecondFlight(legs.length > 1 ? legs[1] : null);
+		booking.setThirdFlight(legs.length > 2 ? legs[2] : null);
+		booking.setBookingDate(DAY.minusDays(30));
+		booking.setCreatedBy("user1");
+		return booking;
+	}
+
+	static Flight[] itinerary(Airplane airplane, int legs) {
+		String[] airports = { "ZRH", "FRA", "JFK", "SFO" };
+		Flight[] flights = new Flight[legs];
+		for (int i = 0; i < legs; i++) {
+			flights[i] = flight(i + 1, airplane, airports[i], airports[i + 1], i * 4);
+		}
+		return flights;
+	}
+}
@@ -0,0 +1,63 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import ch.fankhauser.levin.flightbookingsystem.security.CachingJwtDecoder;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+	private JwtDecoder decoder;
+	private JwtDecoder cachingDecoder;
+	private String token;
+
+	@Setup
+	public void setUp() throws JOSEException {
+		RSAKey key = new RSAKeyGenerator(2048).keyID("benchmark").generate();
+		Jwt claims = AuthenticationRoleConverterBenchmark.keycloakToken("user", "unsigned");
+		token = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)))
+				.encode(JwtEncoderParameters.from(JwsHeader.with(SignatureAlgorithm.RS256).keyId(key.getKeyID()).build(),
+						JwtClaimsSet.builder().claims(values -> values.putAll(claims.getClaims())).build()))
+				.getTokenValue();
+		decoder = NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+		cachingDecoder = new CachingJwtDecoder(decoder, 10_000);
+	}
+
+	@Benchmark
+	public Jwt decode() {
+		return decoder.decode(token);
+	}
+
+	@Benchmark
+	public Jwt decodeCached() {
+		return cachingDecoder.decode(token);
+	}
+}
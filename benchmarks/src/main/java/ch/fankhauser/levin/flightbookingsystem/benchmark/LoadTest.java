@@ -0,0 +1,349 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LoadTest {
+
+	private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.enable(SerializationFeature.INDENT_OUTPUT);
+
+	private final Options options;
+	private final HttpClient client;
+	private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+	private final List<Route> routes = new ArrayList<>();
+	private LocalDate firstDay;
+	private int days;
+	private long measureFrom;
+	private long measureUntil;
+
+	private LoadTest(Options options) {
+		this.options = options;
+		this.client = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		for (Operation operation : Operation.values()) {
+			stats.put(operation, new Stats());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		new LoadTest(Options.parse(args)).run();
+	}
+
+	private void run() throws Exception {
+		discoverRoutes();
+		long start = System.nanoTime();
+		measureFrom = start + options.rampUp().toNanos();
+		measureUntil = measureFrom + options.duration().toNanos();
+		System.out.printf("Running %d virtual users against %s for %s after a %s ramp-up, mix %s%n",
+				options.users(), options.baseUrl(), options.duration(), options.rampUp(), options.mix());
+
+		List<Thread> users = new ArrayList<>(options.users());
+		for (int i = 0; i < options.users(); i++) {
+			long startAt = start + options.rampUp().toNanos() * i / options.users();
+			VirtualUser user = new VirtualUser("loadtest-user-" + i, startAt);
+			users.add(Thread.ofVirtual().name(user.username).start(user::run));
+		}
+		for (Thread user : users) {
+			user.join();
+		}
+		report();
+	}
+
+	private void discoverRoutes() throws IOException, InterruptedException {
+		String token = token("loadtest-bootstrap");
+		JsonNode page = send(HttpRequest.newBuilder(options.baseUrl().resolve("/api/flight?size=500"))
+				.header("Authorization", token).GET().build());
+		Set<Route> distinct = new LinkedHashSet<>();
+		LocalDate first = null;
+		LocalDate last = null;
+		for (JsonNode flight : page.get("items")) {
+			distinct.add(new Route(flight.get("origin").asText(), flight.get("destination").asText()));
+			LocalDate day = LocalDateTime.parse(flight.get("departure").asText()).toLocalDate();
+			first = first == null || day.isBefore(first) ? day : first;
+			last = last == null || day.isAfter(last) ? day : last;
+		}
+		if (distinct.isEmpty()) {
+			throw new IllegalStateException("No flights found, start the application with the loadtest profile");
+		}
+		routes.addAll(distinct);
+		firstDay = first;
+		days = (int) (last.toEpochDay() - first.toEpochDay()) + 1;
+	}
+
+	private String token(String username) throws IOException, InterruptedException {
+		URI uri = options.baseUrl().resolve("/loadtest/token?username=" + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&roles=user");
+		JsonNode token = send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build());
+		return "Bearer " + token.get("access_token").asText();
+	}
+
+	private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() / 100 != 2) {
+			throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+		}
+		return objectMapper.readTree(response.body());
+	}
+
+	private void report() throws IOException {
+		double seconds = options.duration().toNanos() / 1e9;
+		ObjectNode result = objectMapper.createObjectNode();
+		result.put("timestamp", Instant.now().toString());
+		result.put("baseUrl", options.baseUrl().toString());
+		result.put("users", options.users());
+		result.put("durationSeconds", seconds);
+		result.putPOJO("mix", options.mix());
+		ObjectNode operations = result.putObject("operations");
+
+		System.out.printf("%n%-24s %10s %8s %10s %10s %10s %10s %10s%n", "Endpoint", "Requests", "Errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+		for (Operation operation : Operation.values()) {
+			Stats operationStats = stats.get(operation);
+			Histogram latencies = operationStats.latencies;
+			long requests = latencies.getTotalCount();
+			long errors = operationStats.errors.sum();
+			double throughput = requests / seconds;
+			double p50 = millis(latencies.getValueAtPercentile(50));
+			double p99 = millis(latencies.getValueAtPercentile(99));
+			double p999 = millis(latencies.getValueAtPercentile(99.9));
+			double max = millis(latencies.getMaxValue());
+			System.out.printf("%-24s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", operation.endpoint, requests, errors, throughput, p50, p99, p999, max);
+
+			ObjectNode node = operations.putObject(operation.endpoint);
+			node.put("requests", requests);
+			node.put("errors", errors);
+			node.put("throughput", throughput);
+			node.put("p50Ms", p50);
+			node.put("p99Ms", p99);
+			node.put("p999Ms", p999);
+			node.put("maxMs", max);
+			node.putPOJO("errorsByStatus", operationStats.errorsByStatus());
+		}
+		Files.write(options.output(), objectMapper.writeValueAsBytes(result));
+		System.out.printf("%nResults written to %s%n", options.output().toAbsolutePath());
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+
+	private enum Operation {
+		SEARCH("GET /api/flight/search"),
+		LIST("GET /api/booking"),
+		CREATE("POST /api/booking");
+
+		private final String endpoint;
+
+		Operation(String endpoint) {
+			this.endpoint = endpoint;
+		}
+	}
+
+	private record Route(String origin, String destination) {
+
+	}
+
+	private static final class Stats {
+
+		private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+		private final LongAdder errors = new LongAdder();
+		private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+		private void error(int status) {
+			errors.increment();
+			errorsByStatus.computeIfAbsent(status, key -> new LongAdder()).increment();
+		}
+
+		private Map<Integer, Long> errorsByStatus() {
+			Map<Integer, Long> counts = new HashMap<>();
+			errorsByStatus.forEach((status, count) -> counts.put(status, count.sum()));
+			return counts;
+		}
+	}
+
+	private final class VirtualUser {
+
+		private final String username;
+		private final long startAt;
+		private final String csrfToken = UUID.randomUUID().toString();
+		private String token;
+		private long passengerId;
+		private JsonNode lastSearch;
+
+		private VirtualUser(String username, long startAt) {
+			this.username = username;
+			this.startAt = startAt;
+		}
+
+		private void run() {
+			try {
+				TimeUnit.NANOSECONDS.sleep(Math.max(0, startAt - System.nanoTime()));
+				token = token(username);
+				passengerId = send(authorized("/api/passenger")
+						.POST(json(Map.of("lastname", "Load", "firstname", username, "age", 30, "nationality", "CH"))).build())
+						.get("id").asLong();
+				while (System.nanoTime() < measureUntil) {
+					execute(options.next());
+					if (!options.thinkTime().isZero()) {
+						Thread.sleep(options.thinkTime());
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException e) {
+				System.err.println(username + " stopped: " + e.getMessage());
+			}
+		}
+
+		private void execute(Operation operation) throws InterruptedException {
+			HttpRequest request = switch (operation) {
+				case SEARCH -> search();
+				case LIST -> authorized("/api/booking?size=50").GET().build();
+				case CREATE -> lastSearch == null || lastSearch.get("items").isEmpty() ? search() : createBooking();
+			};
+			Operation recorded = request.method().equals("GET") && request.uri().getPath().equals("/api/flight/search") ? Operation.SEARCH : operation;
+			long begin = System.nanoTime();
+			int status;
+			byte[] body;
+			try {
+				HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+				status = response.statusCode();
+				body = response.body();
+			} catch (IOException e) {
+				status = -1;
+				body = null;
+			}
+			long end = System.nanoTime();
+			if (recorded == Operation.SEARCH && status == 200) {
+				try {
+					lastSearch = objectMapper.readTree(body);
+				} catch (IOException e) {
+					status = -2;
+				}
+			}
+			if (begin >= measureFrom && end <= measureUntil) {
+				if (status / 100 == 2) {
+					stats.get(recorded).latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(end - begin), TimeUnit.MINUTES.toMicros(1)));
+				} else {
+					stats.get(recorded).error(status);
+				}
+			}
+		}
+
+		private HttpRequest search() {
+			Route route = routes.get(ThreadLocalRandom.current().nextInt(routes.size()));
+			LocalDateTime from = firstDay.plusDays(ThreadLocalRandom.current().nextInt(days)).atStartOfDay();
+			return authorized("/api/flight/search?origin=" + route.origin() + "&destination=" + route.destination()
+					+ "&from=" + from + "&to=" + from.plusDays(1)).GET().build();
+		}
+
+		private HttpRequest createBooking() {
+			JsonNode items = lastSearch.get("items");
+			JsonNode flight = items.get(ThreadLocalRandom.current().nextInt(items.size()));
+			Map<String, Object> booking = Map.of(
+					"passenger", Map.of("id", passengerId),
+					"origin", flight.get("origin").asText(),
+					"destination", flight.get("destination").asText(),
+					"departure", flight.get("departure").asText(),
+					"arrival", flight.get("arrival").asText(),
+					"firstFlight", Map.of("id", flight.get("id").asLong()),
+					"bookingDate", LocalDateTime.now().withNano(0).toString());
+			return authorized("/api/booking").POST(json(booking)).build();
+		}
+
+		private HttpRequest.Builder authorized(String path) {
+			return HttpRequest.newBuilder(options.baseUrl().resolve(path))
+					.timeout(Duration.ofSeconds(30))
+					.header("Authorization", token)
+					.header("Content-Type", "application/json")
+					.header("Accept", "application/json")
+					.header("Cookie", "XSRF-TOKEN=" + csrfToken)
+					.header("X-XSRF-TOKEN", csrfToken);
+		}
+
+		private HttpRequest.BodyPublisher json(Object body) {
+			try {
+				return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private record Options(URI baseUrl, int users, Duration rampUp, Duration duration, Duration thinkTime, Map<Operation, Integer> mix, Path output) {
+
+		private static Options parse(String[] args) {
+			Map<String, String> values = new HashMap<>(Map.of(
+					"base-url", "http://localhost:8081",
+					"users", "100",
+					"ramp-up", "10s",
+					"duration", "60s",
+					"think-time", "0ms",
+					"mix", "search=70,list=20,create=10",
+					"output", "loadtest-result.json"));
+			for (int i = 0; i < args.length; i++) {
+				if (!args[i].startsWith("--") || i + 1 == args.length) {
+					throw new IllegalArgumentException("Expected --option value pairs, got: " + args[i]);
+				}
+				values.put(args[i].substring(2), args[++i]);
+			}
+			Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+			for (String weight : values.get("mix").split(",")) {
+				String[] parts = weight.split("=");
+				mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+			}
+			return new Options(URI.create(values.get("base-url")), Integer.parseInt(values.get("users")), duration(values.get("ramp-up")),
+					duration(values.get("duration")), duration(values.get("think-time")), mix, Path.of(values.get("output")));
+		}
+
+		private static Duration duration(String value) {
+			return DurationStyle.detectAndParse(value);
+		}
+
+		private Operation next() {
+			int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+			int pick = ThreadLocalRandom.current().nextInt(total);
+			for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+				pick -= weight.getValue();
+				if (pick < 0) {
+					return weight.getKey();
+				}
+			}
+			throw new IllegalStateException("Empty operation mix");
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import ch.fankhauser.levin.flightbookingsystem.booking.Booking;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingRepository;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryQueryBenchmark {
+
+	private static final Limit PAGE = Limit.of(51);
+
+	@Param({ "10000", "100000", "1000000" })
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+	private BookingRepository bookingRepository;
+	private PassengerRepository passengerRepository;
+	private FlightRepository flightRepository;
+
+	private String user;
+	private long bookingId;
+	private String origin;
+	private String destination;
+	private LocalDateTime from;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkDatabase.start();
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		BenchmarkDatabase.seed(jdbcTemplate, rows);
+		bookingRepository = context.getBean(BookingRepository.class);
+		passengerRepository = context.getBean(PassengerRepository.class);
+		flightRepository = context.getBean(FlightRepository.class);
+
+		bookingId = rows / 2;
+		user = jdbcTemplate.queryForObject("SELECT created_by FROM booking WHERE id = ?", String.class, bookingId);
+		Map<String, Object> flight = jdbcTemplate.queryForMap("SELECT origin, destination, departure FROM flight WHERE id = ?", rows / BenchmarkDatabase.BOOKINGS_PER_FLIGHT / 2);
+		origin = (String) flight.get("origin");
+		destination = (String) flight.get("destination");
+		from = ((Timestamp) flight.get("departure")).toLocalDateTime().minusDays(1);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Booking> userBookingPage() {
+		return bookingRepository.findAllByCreatedByAndIdGreaterThanOrderByIdAsc(user, 0L, PAGE);
+	}
+
+	@Benchmark
+	public List<Booking> adminBookingSeek() {
+		return bookingRepository.findAllByIdGreaterThanOrderByIdAsc(bookingId, PAGE);
+	}
+
+	@Benchmark
+	public Booking userBookingDetail() {
+		return bookingRepository.findByIdAndCreatedBy(bookingId, user).orElseThrow();
+	}
+
+	@Benchmark
+	public List<Passenger> userPassengerPage() {
+		return passengerRepository.findAllByCreatedByAndIdGreaterThanOrderByIdAsc(user, 0L, PAGE);
+	}
+
+	@Benchmark
+	public List<Flight> flightSearch() {
+		return flightRepository.findAllByOriginAndDestinationAndDepartureBetweenOrderByDepartureAscIdAsc(origin, destination, from, from.plusDays(30), PAGE);
+	}
+
+	@Benchmark
+	public long seatCount() {
+		return bookingRepository.countByFlightId(1L);
+	}
+}
@@ -0,0 +1,177 @@
+package ch.fankhauser.levin.flightbookingsystem.benchmark;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneCollectionVersion;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRequestDTO;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneService;
+import ch.fankhauser.levin.flightbookingsystem.booking.Booking;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingRepository;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingRequestDTO;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingUserService;
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightChangeFeed;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightCollectionVersion;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightEventBroadcaster;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRequestDTO;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightService;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightTombstoneRepository;
+import ch.fankhauser.levin.flightbookingsystem.flight.RouteGraph;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerPageCache;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerRepository;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerRequestDTO;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerUserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The create and update paths of the services with mocked repositories, so that the scores cover mapping, seat-inventory
+ * and cache-eviction work but no database. Lookups return one fixed entity and saves hand their argument back; calls
+ * that are not stubbed answer Mockito's empty defaults.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+	private AirplaneService airplaneService;
+	private FlightService flightService;
+	private PassengerUserService passengerUserService;
+	private BookingUserService bookingUserService;
+	private SeatInventory seatInventory;
+
+	private AirplaneRequestDTO airplaneRequest;
+	private FlightRequestDTO flightRequest;
+	private PassengerRequestDTO passengerRequest;
+	private BookingRequestDTO bookingRequest;
+	private List<Long> bookedFlightIds;
+
+	@Setup
+	public void setUp() {
+		Airplane airplane = Fixtures.airplane(1);
+		Flight[] itinerary = Fixtures.itinerary(airplane, 2);
+		Passenger passenger = Fixtures.passenger(1);
+		Booking booking = Fixtures.booking(1, passenger, itinerary);
+
+		AirplaneRepository airplaneRepository = stub(AirplaneRepository.class);
+		when(airplaneRepository.findById(any())).thenReturn(Optional.of(airplane));
+		when(airplaneRepository.save(any())).then(returnsFirstArg());
+		FlightRepository flightRepository = stub(FlightRepository.class);
+		when(flightRepository.findById(any())).thenReturn(Optional.of(itinerary[0]));
+		when(flightRepository.findSeatCapacityById(any())).thenReturn(Optional.of(airplane.getSeatCapacity()));
+		when(flightRepository.findAllByAirplaneId(any())).thenReturn(List.of(itinerary));
+		when(flightRepository.save(any())).then(returnsFirstArg());
+		PassengerRepository passengerRepository = stub(PassengerRepository.class);
+		when(passengerRepository.findByIdAndCreatedBy(any(), any())).thenReturn(Optional.of(passenger));
+		when(passengerRepository.save(any())).then(returnsFirstArg());
+		BookingRepository bookingRepository = stub(BookingRepository.class);
+		when(bookingRepository.findByIdAndCreatedBy(any(), any())).thenReturn(Optional.of(booking));
+		when(bookingRepository.save(any())).then(returnsFirstArg());
+		BookingPageCache bookingPageCache = new BookingPageCache(10_000, Duration.ofMinutes(5));
+
+		seatInventory = new SeatInventory(flightRepository, bookingRepository);
+		FlightCollectionVersion flightCollectionVersion = new FlightCollectionVersion();
+		FlightEventBroadcaster flightEventBroadcaster = new FlightEventBroadcaster(256, Duration.ofSeconds(15));
+		airplaneService = new AirplaneService(airplaneRepository, bookingPageCache, new AirplaneCollectionVersion(), flightCollectionVersion,
+				flightRepository, flightEventBroadcaster, seatInventory);
+		flightService = new FlightService(flightRepository,
+				new RouteGraph(flightRepository, seatInventory, Duration.ofMinutes(45), Duration.ofHours(12), Duration.ofHours(24), 10, 20_000),
+				bookingPageCache, seatInventory,
+				flightCollectionVersion, new FlightChangeFeed(flightRepository, stub(FlightTombstoneRepository.class),
+						Duration.ofSeconds(5), Duration.ofDays(30)),
+				flightEventBroadcaster);
+		passengerUserService = new PassengerUserService(passengerRepository, new PassengerPageCache(10_000, Duration.ofMinutes(5)), bookingPageCache);
+		bookingUserService = new BookingUserService(bookingRepository, seatInventory, bookingPageCache);
+
+		airplaneRequest = new AirplaneRequestDTO("Airbus", "A321neo", 2021, "Swiss International Air Lines", 215);
+		flightRequest = new FlightRequestDTO(airplane, "ZRH", "LHR", Fixtures.DAY.plusHours(7), Fixtures.DAY.plusHours(9));
+		passengerRequest = new PassengerRequestDTO("Muster", "Erika", 29, "Switzerland");
+		bookingRequest = new BookingRequestDTO(passenger, booking.getOrigin(), booking.getDestination(), booking.getDeparture(),
+				booking.getArrival(), itinerary[0], itinerary[1], null, booking.getBookingDate());
+		bookedFlightIds = SeatInventory.flightIdsOf(booking);
+	}
+
+	/**
+	 * Stub-only mocks do not record invocations, which would otherwise pile up over millions of benchmark calls.
+	 */
+	private static <T> T stub(Class<T> type) {
+		return mock(type, withSettings().stubOnly());
+	}
+
+	/**
+	 * The security context is thread-local, so every benchmark thread authenticates itself when its state is set up.
+	 */
+	@State(Scope.Thread)
+	public static class Authenticated {
+
+		@Setup
+		public void authenticate() {
+			SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user1", null, "ROLE_user"));
+		}
+	}
+
+	@Benchmark
+	public Airplane createAirplane(Authenticated authenticated) {
+		return airplaneService.createAirplane(airplaneRequest);
+	}
+
+	@Benchmark
+	public Airplane updateAirplane(Authenticated authenticated) {
+		return airplaneService.updateAirplane(1L, airplaneRequest);
+	}
+
+	@Benchmark
+	public Flight updateFlight(Authenticated authenticated) {
+		return flightService.updateFlight(1L, flightRequest);
+	}
+
+	@Benchmark
+	public Passenger createPassenger(Authenticated authenticated) {
+		return passengerUserService.createPassenger(passengerRequest);
+	}
+
+	@Benchmark
+	public Passenger updatePassenger(Authenticated authenticated) {
+		return passengerUserService.updatePassenger(1L, passengerRequest);
+	}
+
+	@Benchmark
+	public Booking createBooking(Authenticated authenticated) {
+		Booking booking = bookingUserService.createBooking(bookingRequest);
+		seatInventory.release(bookedFlightIds);
+		return booking;
+	}
+
+	@Benchmark
+	public Booking updateBooking(Authenticated authenticated) {
+		return bookingUserService.updateBooking(1L, bookingRequest);
+	}
+}
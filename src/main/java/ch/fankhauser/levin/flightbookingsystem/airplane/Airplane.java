@@ -1,22 +1,33 @@
 package ch.fankhauser.levin.flightbookingsystem.airplane;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-@Data
+@Getter
+@Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "airplane")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Airplane {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "airplane_seq")
+	@SequenceGenerator(name = "airplane_seq", sequenceName = "airplane_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(length = 100, nullable = false)
@@ -48,4 +59,17 @@ public class Airplane {
 	@Size(max = 255)
 	@NotEmpty
 	private String createdBy;
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		return other instanceof Airplane that && id != null && id.equals(that.getId());
+	}
+
+	@Override
+	public int hashCode() {
+		return Airplane.class.hashCode();
+	}
 }
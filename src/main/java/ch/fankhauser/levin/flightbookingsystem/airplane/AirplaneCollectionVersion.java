@@ -0,0 +1,8 @@
+package ch.fankhauser.levin.flightbookingsystem.airplane;
+
+import ch.fankhauser.levin.flightbookingsystem.base.CollectionVersion;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AirplaneCollectionVersion extends CollectionVersion {
+}
@@ -1,5 +1,6 @@
 package ch.fankhauser.levin.flightbookingsystem.airplane;
 
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
 import ch.fankhauser.levin.flightbookingsystem.security.Roles;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,12 +10,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/airplane")
 @SecurityRequirement(name = "bearerAuth")
@@ -23,20 +25,25 @@ import java.util.List;
 public class AirplaneController {
 
 	private final AirplaneService airplaneService;
+	private final AirplaneCollectionVersion airplaneCollectionVersion;
 
-	public AirplaneController(AirplaneService airplaneService) {
+	public AirplaneController(AirplaneService airplaneService, AirplaneCollectionVersion airplaneCollectionVersion) {
 		this.airplaneService = airplaneService;
+		this.airplaneCollectionVersion = airplaneCollectionVersion;
 	}
 
 	@GetMapping
 	@RolesAllowed(Roles.Admin)
-	@Operation(summary = "Retrieve all airplanes", description = "Returns a list of all airplanes.")
+	@Operation(summary = "Retrieve all airplanes", description = "Returns a page of airplanes ordered by ID.")
 	@ApiResponses({
 			@ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+			@ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
 			@ApiResponse(responseCode = "403", description = "Access denied") })
-	public ResponseEntity<List<Airplane>> getAllAirplanes() {
-		List<Airplane> result = airplaneService.findAllAirplanes();
-		return ResponseEntity.ok(result);
+	public ResponseEntity<CursorPage<Airplane>> getAllAirplanes(
+			@Parameter(description = "ETag of a previously retrieved response") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@Parameter(description = "Cursor of the next page as returned by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of airplanes per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		return airplaneCollectionVersion.respond(ifNoneMatch, () -> airplaneService.findAllAirplanes(cursor, size));
 	}
 
 	@GetMapping("/{id}")
@@ -1,9 +1,17 @@
 package ch.fankhauser.levin.flightbookingsystem.airplane;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AirplaneRepository extends JpaRepository<Airplane, Long> {
 
-}
\ No newline at end of file
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	List<Airplane> findAllByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
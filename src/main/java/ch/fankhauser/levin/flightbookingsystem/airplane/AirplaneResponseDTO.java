@@ -0,0 +1,16 @@
+package ch.fankhauser.levin.flightbookingsystem.airplane;
+
+public record AirplaneResponseDTO(
+		Long id,
+		String brand,
+		String model,
+		int constructionYear,
+		String airline,
+		int seatCapacity,
+		String createdBy) {
+
+	public static AirplaneResponseDTO of(Airplane airplane) {
+		return new AirplaneResponseDTO(airplane.getId(), airplane.getBrand(), airplane.getModel(), airplane.getConstructionYear(),
+				airplane.getAirline(), airplane.getSeatCapacity(), airplane.getCreatedBy());
+	}
+}
@@ -1,8 +1,22 @@
 package ch.fankhauser.levin.flightbookingsystem.airplane;
 
+import ch.fankhauser.levin.flightbookingsystem.base.AfterCommit;
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightChange;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightChangeFeed;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightCollectionVersion;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightEventBroadcaster;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightLeg;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -10,13 +24,29 @@ import java.util.List;
 public class AirplaneService {
 
 	private final AirplaneRepository airplaneRepository;
+	private final BookingPageCache bookingPageCache;
+	private final AirplaneCollectionVersion airplaneCollectionVersion;
+	private final FlightCollectionVersion flightCollectionVersion;
+	private final FlightRepository flightRepository;
+	private final FlightEventBroadcaster flightEventBroadcaster;
+	private final SeatInventory seatInventory;
 
-	public AirplaneService(AirplaneRepository airplaneRepository) {
+	public AirplaneService(AirplaneRepository airplaneRepository, BookingPageCache bookingPageCache,
+			AirplaneCollectionVersion airplaneCollectionVersion, FlightCollectionVersion flightCollectionVersion,
+			FlightRepository flightRepository, FlightEventBroadcaster flightEventBroadcaster, SeatInventory seatInventory) {
 		this.airplaneRepository = airplaneRepository;
+		this.flightRepository = flightRepository;
+		this.flightEventBroadcaster = flightEventBroadcaster;
+		this.seatInventory = seatInventory;
+		this.bookingPageCache = bookingPageCache;
+		this.airplaneCollectionVersion = airplaneCollectionVersion;
+		this.flightCollectionVersion = flightCollectionVersion;
 	}
 
-	public List<Airplane> findAllAirplanes() {
-		return airplaneRepository.findAll();
+	public CursorPage<Airplane> findAllAirplanes(String cursor, Integer size) {
+		int limit = CursorPage.boundedSize(size);
+		List<Airplane> rows = airplaneRepository.findAllByIdGreaterThanOrderByIdAsc(Cursor.decodeId(cursor), Limit.of(limit + 1));
+		return CursorPage.of(rows, limit, airplane -> Cursor.encode(airplane.getId()));
 	}
 
 	public Airplane findAirplaneById(Long id) {
@@ -24,9 +54,12 @@ public class AirplaneService {
 	}
 
 	public Airplane createAirplane(AirplaneRequestDTO airplane) {
-		return airplaneRepository.save(mapDtoToEntity(airplane));
+		Airplane savedAirplane = airplaneRepository.save(mapDtoToEntity(airplane));
+		AfterCommit.run(airplaneCollectionVersion::bump);
+		return savedAirplane;
 	}
 
+	@Transactional
 	public Airplane updateAirplane(Long id, AirplaneRequestDTO airplane) {
 		return airplaneRepository.findById(id).map(existingAirplane -> {
 			existingAirplane.setBrand(airplane.brand());
@@ -34,7 +67,20 @@ public class AirplaneService {
 			existingAirplane.setConstructionYear(airplane.constructionYear());
 			existingAirplane.setAirline(airplane.airline());
 			existingAirplane.setSeatCapacity(airplane.seatCapacity());
-			return airplaneRepository.save(existingAirplane);
+			Airplane savedAirplane = airplaneRepository.save(existingAirplane);
+			// Flights embed their airplane.
+			flightRepository.touchAllByAirplaneId(id, FlightChangeFeed.now());
+			List<Flight> flights = flightRepository.findAllByAirplaneId(id);
+			for (Flight flight : flights) {
+				flightEventBroadcaster.publish(FlightChange.of(flight), FlightLeg.of(flight));
+			}
+			AfterCommit.run(() -> {
+				flights.forEach(flight -> seatInventory.refreshCapacity(flight.getId()));
+				bookingPageCache.evictAll();
+				airplaneCollectionVersion.bump();
+				flightCollectionVersion.bump();
+			});
+			return savedAirplane;
 		}).orElseGet(() -> createAirplane(airplane));
 	}
 
@@ -43,6 +89,7 @@ public class AirplaneService {
 			throw new EntityNotFoundException("Airplane not found with id " + id);
 		}
 		airplaneRepository.deleteById(id);
+		airplaneCollectionVersion.bump();
 	}
 
 	private Airplane mapDtoToEntity(AirplaneRequestDTO airplane) {
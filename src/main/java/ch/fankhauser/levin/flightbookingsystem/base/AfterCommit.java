@@ -0,0 +1,31 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write, such as bumping a {@link CollectionVersion}, until the surrounding
+ * transaction has committed, so that a rollback leaves them undone and readers never see them before the data.
+ */
+public final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	/**
+	 * Runs the action after the current transaction commits, or right away outside a transaction.
+	 */
+	public static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
@@ -0,0 +1,60 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+
+	public static final String ENTITY_MAX_SIZE = "flight-booking.cache.entity-max-size";
+	public static final String QUERY_MAX_SIZE = "flight-booking.cache.query-max-size";
+	public static final String TTL = "flight-booking.cache.ttl";
+
+	private long entityMaxSize = 10_000;
+	private long queryMaxSize = 1_000;
+	private Duration ttl = Duration.ofMinutes(10);
+
+	@Override
+	protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+		entityMaxSize = longProperty(properties, ENTITY_MAX_SIZE, entityMaxSize);
+		queryMaxSize = longProperty(properties, QUERY_MAX_SIZE, queryMaxSize);
+		if (properties.get(TTL) != null) {
+			ttl = DurationStyle.detectAndParse(properties.get(TTL).toString());
+		}
+		return super.resolveCacheManager(settings, properties);
+	}
+
+	@Override
+	protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+		// One cache manager per session factory, so contexts sharing a JVM never see each other's rows.
+		return URI.create("flight-booking:" + UUID.randomUUID());
+	}
+
+	@Override
+	protected Cache<Object, Object> createCache(String regionName) {
+		CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+		configuration.setStatisticsEnabled(true);
+		configuration.setManagementEnabled(true);
+		if (!RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(regionName)) {
+			boolean queryResults = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME.equals(regionName);
+			configuration.setMaximumSize(OptionalLong.of(queryResults ? queryMaxSize : entityMaxSize));
+			configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+		}
+		return getCacheManager().createCache(regionName, configuration);
+	}
+
+	private static long longProperty(Map<String, Object> properties, String key, long defaultValue) {
+		Object value = properties.get(key);
+		return value == null ? defaultValue : Long.parseLong(value.toString());
+	}
+}
@@ -0,0 +1,63 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Modification counter of a collection, used as its entity tag. Writers bump it after their change is committed, so a
+ * tag read before loading never describes newer data than the one served with it. The epoch keeps tags of an earlier
+ * process from matching after a restart. Tags are weak: they identify the state of the collection rather than the bytes
+ * of a representation, and Tomcat does not compress responses with strong tags.
+ */
+public class CollectionVersion {
+
+	private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+	private final AtomicLong modifications = new AtomicLong();
+
+	public void bump() {
+		modifications.incrementAndGet();
+	}
+
+	public String eTag() {
+		return "W/\"" + epoch + "-" + modifications.get() + "\"";
+	}
+
+	/**
+	 * Answers {@code 304 Not Modified} without calling the loader if the client already has the current version.
+	 */
+	public <T> ResponseEntity<T> respond(String ifNoneMatch, Supplier<T> loader) {
+		String eTag = eTag();
+		if (matches(ifNoneMatch, eTag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate())
+					.varyBy(HttpHeaders.ACCEPT).build();
+		}
+		T body = loader.get();
+		return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate()).varyBy(HttpHeaders.ACCEPT).body(body);
+	}
+
+	/**
+	 * Whether an {@code If-None-Match} header matches the given tag, using the weak comparison required for it.
+	 */
+	public static boolean matches(String ifNoneMatch, String eTag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		String opaqueTag = opaque(eTag);
+		for (String tag : ifNoneMatch.split(",")) {
+			String candidate = opaque(tag.trim());
+			if (candidate.equals("*") || candidate.equals(opaqueTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String opaque(String tag) {
+		return tag.startsWith("W/") ? tag.substring(2) : tag;
+	}
+}
@@ -0,0 +1,41 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the JDBC pool by what the database can execute in parallel, {@code cores * 2 + effective spindles}, unless
+ * {@code spring.datasource.hikari.maximum-pool-size} is set. The pool is fixed: idle connections are kept open. With
+ * virtual threads the pool is what bounds concurrent database work, so it must follow the database, not the request load.
+ */
+@Component
+public class ConnectionPoolSizing implements BeanPostProcessor {
+
+	private static final Logger log = LoggerFactory.getLogger(ConnectionPoolSizing.class);
+
+	private final int poolSize;
+
+	public ConnectionPoolSizing(@Value("${flight-booking.datasource.database-cores:0}") int databaseCores,
+			@Value("${flight-booking.datasource.effective-spindles:1}") int effectiveSpindles) {
+		// Without a configured core count the database is assumed to run on hardware like this one.
+		int cores = databaseCores > 0 ? databaseCores : Runtime.getRuntime().availableProcessors();
+		this.poolSize = cores * 2 + effectiveSpindles;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+		if (bean instanceof HikariDataSource dataSource && dataSource.getMaximumPoolSize() < 1) {
+			dataSource.setMaximumPoolSize(poolSize);
+			if (dataSource.getMinimumIdle() < 0) {
+				dataSource.setMinimumIdle(poolSize);
+			}
+			log.info("Sized JDBC pool {} to {} connections", beanName, poolSize);
+		}
+		return bean;
+	}
+}
@@ -0,0 +1,97 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public final class Cursor {
+
+	private static final String SEPARATOR = "|";
+	private static final String CHANGE_PREFIX = "change" + SEPARATOR;
+
+	private Cursor() {
+	}
+
+	public static String encode(Long id) {
+		return encodeRaw(String.valueOf(id));
+	}
+
+	public static String encode(LocalDateTime departure, Long id) {
+		return encodeRaw(departure + SEPARATOR + id);
+	}
+
+	/**
+	 * Encodes a position in the change feed. It is kept apart from the list cursors, so that neither kind is accepted
+	 * where the other is expected.
+	 */
+	public static String encodeChange(LocalDateTime changedAt, Long id) {
+		return encodeRaw(CHANGE_PREFIX + changedAt + SEPARATOR + id);
+	}
+
+	public static Long decodeId(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0L;
+		}
+		try {
+			return Long.parseLong(decodeRaw(cursor));
+		} catch (NumberFormatException e) {
+			throw new InvalidCursorException(cursor);
+		}
+	}
+
+	public static Position decodePosition(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		return parsePosition(decodeRaw(cursor), cursor);
+	}
+
+	public static Change decodeChange(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		String raw = decodeRaw(cursor);
+		if (!raw.startsWith(CHANGE_PREFIX)) {
+			throw new InvalidCursorException(cursor);
+		}
+		Position position = parsePosition(raw.substring(CHANGE_PREFIX.length()), cursor);
+		return new Change(position.departure(), position.id());
+	}
+
+	private static Position parsePosition(String raw, String cursor) {
+		int separator = raw.lastIndexOf(SEPARATOR);
+		if (separator < 0) {
+			throw new InvalidCursorException(cursor);
+		}
+		try {
+			return new Position(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+		} catch (DateTimeParseException | NumberFormatException e) {
+			throw new InvalidCursorException(cursor);
+		}
+	}
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String decodeRaw(String cursor) {
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(cursor);
+		}
+	}
+
+	public record Position(
+			LocalDateTime departure,
+			Long id) {
+
+	}
+
+	public record Change(
+			LocalDateTime changedAt,
+			Long id) {
+
+	}
+}
@@ -0,0 +1,8 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+public class CursorExpiredException extends RuntimeException {
+
+	public CursorExpiredException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,31 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+		List<T> items,
+		String nextCursor) {
+
+	public static final int DEFAULT_SIZE = 50;
+	public static final int MAX_SIZE = 500;
+
+	public static int boundedSize(Integer size) {
+		if (size == null) {
+			return DEFAULT_SIZE;
+		}
+		return Math.max(1, Math.min(size, MAX_SIZE));
+	}
+
+	public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+		if (rows.size() <= size) {
+			return new CursorPage<>(rows, null);
+		}
+		List<T> items = rows.subList(0, size);
+		return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)));
+	}
+
+	public <R> CursorPage<R> map(Function<T, R> mapper) {
+		return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+	}
+}
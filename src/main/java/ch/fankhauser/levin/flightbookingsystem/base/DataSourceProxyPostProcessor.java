@@ -0,0 +1,34 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes all JDBC statements through {@link SqlStatementListener}.
+ */
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<SqlStatementListener> sqlStatementListener;
+
+	public DataSourceProxyPostProcessor(ObjectProvider<SqlStatementListener> sqlStatementListener) {
+		this.sqlStatementListener = sqlStatementListener;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+		if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+			return ProxyDataSourceBuilder.create(dataSource)
+					.name(beanName)
+					.listener(sqlStatementListener.getObject())
+					.build();
+		}
+		return bean;
+	}
+}
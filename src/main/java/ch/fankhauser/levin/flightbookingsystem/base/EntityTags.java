@@ -0,0 +1,39 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+/**
+ * Strong entity tags derived from the {@code @Version} of an entity.
+ */
+public final class EntityTags {
+
+	private EntityTags() {
+	}
+
+	public static String of(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	/**
+	 * Returns the version an {@code If-Match} header refers to, or {@code null} if the header is absent or matches any
+	 * version. Weak and malformed tags can never match, as required for {@code If-Match}.
+	 */
+	public static Long parseIfMatch(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+			try {
+				return Long.parseLong(tag.substring(1, tag.length() - 1));
+			} catch (NumberFormatException e) {
+				// handled below
+			}
+		}
+		throw new PreconditionFailedException("If-Match does not match any version: " + ifMatch);
+	}
+
+	public static void requireMatch(Long expectedVersion, Long currentVersion) {
+		if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+			throw new PreconditionFailedException("Expected version " + expectedVersion + " but current version is " + currentVersion);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.List;
+
+/**
+ * Request handling runs on Tomcat's platform-thread pool by default and on one virtual thread per request with
+ * {@code spring.threads.virtual.enabled=true}. Either way the security context lives in the request thread, so services
+ * can read it from {@link org.springframework.security.core.context.SecurityContextHolder}.
+ * <p>
+ * Background work such as purges, key refreshes and timing wheel ticks runs on Boot's shared task scheduler, sized by
+ * {@code spring.task.scheduling.pool.size}, instead of on executors of its own.
+ */
+@Configuration
+@EnableScheduling
+public class ExecutionConfig {
+
+	/**
+	 * Applied by Boot to the application task executor, which runs async MVC responses and {@code @Async} methods on
+	 * platform or virtual threads depending on the execution mode. Tasks see the security context of their caller, and
+	 * their statements count towards its SQL budget. Boot only applies a single decorator, hence the composite.
+	 */
+	@Bean
+	public TaskDecorator taskDecorator(SqlStatementListener sqlStatementListener) {
+		return new CompositeTaskDecorator(List.of(DelegatingSecurityContextRunnable::new, sqlStatementListener::propagate));
+	}
+}
@@ -1,10 +1,15 @@
 package ch.fankhauser.levin.flightbookingsystem.base;
 
+import ch.fankhauser.levin.flightbookingsystem.booking.FlightFullyBookedException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -45,6 +50,49 @@ public class GlobalExceptionHandler {
 				.body(exception.getMessage());
 	}
 
+	@ExceptionHandler({InvalidCursorException.class, InvalidRequestException.class})
+	public ResponseEntity<Object> handleInvalidRequest(RuntimeException exception) {
+		return ResponseEntity
+				.status(HttpStatus.BAD_REQUEST)
+				.body(exception.getMessage());
+	}
+
+	@ExceptionHandler({FlightFullyBookedException.class})
+	public ResponseEntity<Object> handleFlightFullyBooked(FlightFullyBookedException exception) {
+		return ResponseEntity
+				.status(HttpStatus.CONFLICT)
+				.body(exception.getMessage());
+	}
+
+	@ExceptionHandler({PreconditionFailedException.class})
+	public ResponseEntity<Object> handlePreconditionFailed(PreconditionFailedException exception) {
+		return ResponseEntity
+				.status(HttpStatus.PRECONDITION_FAILED)
+				.body(exception.getMessage());
+	}
+
+	@ExceptionHandler({CursorExpiredException.class})
+	public ResponseEntity<Object> handleCursorExpired(CursorExpiredException exception) {
+		return ResponseEntity
+				.status(HttpStatus.GONE)
+				.body(exception.getMessage());
+	}
+
+	@ExceptionHandler({OptimisticLockingFailureException.class})
+	public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException exception) {
+		return ResponseEntity
+				.status(HttpStatus.CONFLICT)
+				.body("Concurrent modification, reload and retry: " + exception.getMessage());
+	}
+
+	@ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+	public ResponseEntity<Object> handleDatabaseUnavailable(RuntimeException exception) {
+		return ResponseEntity
+				.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body("Database temporarily unavailable: " + exception.getMessage());
+	}
+
 	@ExceptionHandler({DataIntegrityViolationException.class})
 	public ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException exception) {
 		return ResponseEntity
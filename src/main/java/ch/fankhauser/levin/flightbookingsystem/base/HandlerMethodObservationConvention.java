@@ -0,0 +1,33 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tags {@code http.server.requests} with the controller method that handled the request, so endpoints sharing a URI
+ * pattern but not a handler can be told apart.
+ */
+@Component
+public class HandlerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+
+	private static final String NONE = "none";
+
+	@Override
+	@NonNull
+	public KeyValues getLowCardinalityKeyValues(@NonNull ServerRequestObservationContext context) {
+		return super.getLowCardinalityKeyValues(context).and(handler(context));
+	}
+
+	private static KeyValue handler(ServerRequestObservationContext context) {
+		if (context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+			return KeyValue.of("handler", handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+		}
+		return KeyValue.of("handler", NONE);
+	}
+}
@@ -0,0 +1,118 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Runs delayed tasks with one tick on the shared task scheduler instead of one scheduled task per timeout. Tasks run on
+ * the scheduler thread and must be short.
+ */
+public class HashedTimingWheel implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+	private final long tickNanos;
+	private final int mask;
+	private final ArrayDeque<Timeout>[] buckets;
+	private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+	private final ScheduledFuture<?> ticker;
+	private final long startNanos = System.nanoTime();
+	private long currentTick;
+
+	@SuppressWarnings("unchecked")
+	public HashedTimingWheel(Duration tickDuration, int wheelSize, TaskScheduler taskScheduler) {
+		if (Integer.bitCount(wheelSize) != 1) {
+			throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+		}
+		this.tickNanos = tickDuration.toNanos();
+		this.mask = wheelSize - 1;
+		this.buckets = new ArrayDeque[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			buckets[i] = new ArrayDeque<>();
+		}
+		// A late tick catches up on all ticks that have passed, so a fixed delay loses no timeouts.
+		this.ticker = taskScheduler.scheduleWithFixedDelay(this::advance, Instant.now().plus(tickDuration), tickDuration);
+	}
+
+	public Timeout schedule(Runnable task, Duration delay) {
+		long deadlineTick = Math.ceilDiv(System.nanoTime() - startNanos + delay.toNanos(), tickNanos);
+		Timeout timeout = new Timeout(task, deadlineTick);
+		pending.add(timeout);
+		return timeout;
+	}
+
+	@Override
+	public void close() {
+		ticker.cancel(false);
+	}
+
+	private void advance() {
+		long targetTick = (System.nanoTime() - startNanos) / tickNanos;
+		while (currentTick <= targetTick) {
+			transferPending();
+			expire(buckets[(int) (currentTick & mask)]);
+			currentTick++;
+		}
+	}
+
+	private void transferPending() {
+		Timeout timeout;
+		while ((timeout = pending.poll()) != null) {
+			if (timeout.cancelled) {
+				continue;
+			}
+			long tick = Math.max(timeout.deadlineTick, currentTick);
+			timeout.remainingRounds = (tick - currentTick) / buckets.length;
+			buckets[(int) (tick & mask)].add(timeout);
+		}
+	}
+
+	private void expire(ArrayDeque<Timeout> bucket) {
+		Iterator<Timeout> iterator = bucket.iterator();
+		while (iterator.hasNext()) {
+			Timeout timeout = iterator.next();
+			if (timeout.cancelled) {
+				iterator.remove();
+			} else if (timeout.remainingRounds > 0) {
+				timeout.remainingRounds--;
+			} else {
+				iterator.remove();
+				run(timeout);
+			}
+		}
+	}
+
+	private static void run(Timeout timeout) {
+		try {
+			timeout.task.run();
+		} catch (RuntimeException e) {
+			log.warn("Timing wheel task failed", e);
+		}
+	}
+
+	public static final class Timeout {
+
+		private final Runnable task;
+		private final long deadlineTick;
+		private long remainingRounds;
+		private volatile boolean cancelled;
+
+		private Timeout(Runnable task, long deadlineTick) {
+			this.task = task;
+			this.deadlineTick = deadlineTick;
+		}
+
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+}
@@ -0,0 +1,8 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+public class InvalidCursorException extends RuntimeException {
+
+	public InvalidCursorException(String cursor) {
+		super("Invalid cursor: " + cursor);
+	}
+}
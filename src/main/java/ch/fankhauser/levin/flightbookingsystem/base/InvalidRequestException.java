@@ -0,0 +1,11 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+/**
+ * A request that is well-formed but asks for something the service cannot do, answered with {@code 400 Bad Request}.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,54 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Repeats a read-modify-write that lost an optimistic locking race. Each attempt has to read the entity again, so the
+ * attempts must not share a transaction: its persistence context would hand out the stale entity again, and the failed
+ * attempt has already marked it for rollback. Calling it inside a transaction fails.
+ */
+public final class OptimisticRetry {
+
+	public static final int MAX_ATTEMPTS = 3;
+
+	private OptimisticRetry() {
+	}
+
+	/**
+	 * Unconditional updates are retried. A conditional update that loses the race fails, since the version it expects is
+	 * no longer current.
+	 */
+	public static <T> T updating(Long expectedVersion, Supplier<T> action) {
+		requireNoTransaction();
+		if (expectedVersion == null) {
+			return retrying(action);
+		}
+		try {
+			return action.get();
+		} catch (OptimisticLockingFailureException e) {
+			throw new PreconditionFailedException("Version " + expectedVersion + " was modified concurrently");
+		}
+	}
+
+	public static <T> T retrying(Supplier<T> action) {
+		requireNoTransaction();
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return action.get();
+			} catch (OptimisticLockingFailureException e) {
+				if (attempt >= MAX_ATTEMPTS) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	private static void requireNoTransaction() {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new IllegalStateException("Optimistic retries must not run inside a transaction");
+		}
+	}
+}
@@ -0,0 +1,8 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+public class PreconditionFailedException extends RuntimeException {
+
+	public PreconditionFailedException(String message) {
+		super(message);
+	}
+}
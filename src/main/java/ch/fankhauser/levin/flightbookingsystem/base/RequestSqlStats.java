@@ -0,0 +1,46 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statements executed while handling one request, with the number of executions per distinct SQL string. Recorded by
+ * one thread at a time: the request thread, then the async task it started.
+ */
+class RequestSqlStats {
+
+	private static final int MAX_DISTINCT_STATEMENTS = 100;
+	private static final int REPORTED_STATEMENTS = 5;
+
+	private final Map<String, Integer> executionsBySql = new HashMap<>();
+	private int statements;
+	private long elapsedMillis;
+
+	void record(String sql, long millis) {
+		statements++;
+		elapsedMillis += millis;
+		if (executionsBySql.size() < MAX_DISTINCT_STATEMENTS || executionsBySql.containsKey(sql)) {
+			executionsBySql.merge(sql, 1, Integer::sum);
+		}
+	}
+
+	int statements() {
+		return statements;
+	}
+
+	long elapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * The most frequently executed statements first, which is where N+1 patterns show up.
+	 */
+	String mostExecuted() {
+		return executionsBySql.entrySet().stream()
+				.sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+				.limit(REPORTED_STATEMENTS)
+				.map(entry -> entry.getValue() + "x " + entry.getKey())
+				.collect(Collectors.joining("\n\t", "\n\t", ""));
+	}
+}
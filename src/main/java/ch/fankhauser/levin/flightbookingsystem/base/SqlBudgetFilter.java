@@ -0,0 +1,82 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Counts the statements and database time of each request and reports requests exceeding the configured budget together
+ * with their most frequently executed statements. Requests that continue asynchronously are checked once the async
+ * work has completed.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+	private final SqlStatementListener sqlStatementListener;
+	private final int maxStatements;
+	private final long maxMillis;
+
+	public SqlBudgetFilter(SqlStatementListener sqlStatementListener,
+			@Value("${flight-booking.sql.max-statements-per-request:20}") int maxStatements,
+			@Value("${flight-booking.sql.max-time-per-request:500ms}") Duration maxTime) {
+		this.sqlStatementListener = sqlStatementListener;
+		this.maxStatements = maxStatements;
+		this.maxMillis = maxTime.toMillis();
+	}
+
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestSqlStats stats = sqlStatementListener.begin();
+		String endpoint = request.getMethod() + " " + request.getRequestURI();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			sqlStatementListener.end();
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new AsyncListener() {
+
+					@Override
+					public void onComplete(AsyncEvent event) {
+						checkBudget(endpoint, stats);
+					}
+
+					@Override
+					public void onTimeout(AsyncEvent event) {
+					}
+
+					@Override
+					public void onError(AsyncEvent event) {
+					}
+
+					@Override
+					public void onStartAsync(AsyncEvent event) {
+					}
+				});
+			} else {
+				checkBudget(endpoint, stats);
+			}
+		}
+	}
+
+	private void checkBudget(String endpoint, RequestSqlStats stats) {
+		if (stats.statements() > maxStatements || stats.elapsedMillis() > maxMillis) {
+			sqlStatementListener.report(() -> log.warn("{} executed {} statements in {} ms, budget is {} statements in {} ms:{}",
+					endpoint, stats.statements(), stats.elapsedMillis(), maxStatements, maxMillis, stats.mostExecuted()));
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes every JDBC statement to the request executing it, including tasks the request handed to the application
+ * task executor, and reports slow statements. Reports are written by a background thread so logging never adds to
+ * request latency; when the log queue is full, reports are dropped.
+ */
+@Component
+public class SqlStatementListener implements QueryExecutionListener {
+
+	private static final Logger log = LoggerFactory.getLogger(SqlStatementListener.class);
+
+	private final ThreadLocal<RequestSqlStats> currentRequest = new ThreadLocal<>();
+	private final long slowQueryMillis;
+	private final ThreadPoolExecutor reporter;
+
+	public SqlStatementListener(@Value("${flight-booking.sql.slow-query-threshold:200ms}") Duration slowQueryThreshold,
+			@Value("${flight-booking.sql.log-queue-size:1000}") int logQueueSize) {
+		this.slowQueryMillis = slowQueryThreshold.toMillis();
+		this.reporter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(logQueueSize),
+				Thread.ofPlatform().name("sql-report").daemon().factory(), new ThreadPoolExecutor.DiscardPolicy());
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+		long elapsedMillis = execInfo.getElapsedTime();
+		RequestSqlStats stats = currentRequest.get();
+		if (stats != null) {
+			stats.record(sql, elapsedMillis);
+		}
+		if (elapsedMillis >= slowQueryMillis) {
+			report(() -> log.warn("Slow query took {} ms: {}", elapsedMillis, sql));
+		}
+	}
+
+	RequestSqlStats begin() {
+		RequestSqlStats stats = new RequestSqlStats();
+		currentRequest.set(stats);
+		return stats;
+	}
+
+	void end() {
+		currentRequest.remove();
+	}
+
+	/**
+	 * Attributes the statements of a task to the request that submitted it, such as a streamed response body.
+	 */
+	Runnable propagate(Runnable task) {
+		RequestSqlStats stats = currentRequest.get();
+		if (stats == null) {
+			return task;
+		}
+		return () -> {
+			RequestSqlStats previous = currentRequest.get();
+			currentRequest.set(stats);
+			try {
+				task.run();
+			} finally {
+				currentRequest.set(previous);
+			}
+		};
+	}
+
+	void report(Runnable logStatement) {
+		reporter.execute(logStatement);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		reporter.shutdown();
+	}
+}
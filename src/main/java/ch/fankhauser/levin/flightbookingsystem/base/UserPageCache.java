@@ -0,0 +1,60 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+public class UserPageCache<T> implements MeterBinder {
+
+	public static final int MAX_PAGES_PER_USER = 16;
+
+	private final String name;
+	private final Cache<String, Map<String, CursorPage<T>>> pagesByUser;
+
+	public UserPageCache(String name, long maximumUsers, Duration ttl) {
+		this.name = name;
+		this.pagesByUser = Caffeine.newBuilder()
+				.maximumSize(maximumUsers)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+	}
+
+	public CursorPage<T> get(String user, String cursor, int size, Supplier<CursorPage<T>> loader) {
+		Map<String, CursorPage<T>> pages = pagesByUser.get(user, key -> new ConcurrentHashMap<>());
+		String pageKey = size + ":" + (cursor == null ? "" : cursor);
+		CursorPage<T> page = pages.get(pageKey);
+		if (page != null) {
+			return page;
+		}
+		page = loader.get();
+		// A page loaded while the user was evicted lands in the detached map and is never served.
+		if (pages.size() < MAX_PAGES_PER_USER) {
+			pages.putIfAbsent(pageKey, page);
+		}
+		return page;
+	}
+
+	public void evict(String user) {
+		if (user != null) {
+			pagesByUser.invalidate(user);
+		}
+	}
+
+	public void evictAll() {
+		pagesByUser.invalidateAll();
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, pagesByUser, name);
+	}
+}
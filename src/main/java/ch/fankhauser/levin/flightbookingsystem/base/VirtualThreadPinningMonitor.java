@@ -0,0 +1,58 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier, e.g. inside a {@code synchronized} block of a
+ * library. Pinned threads hold a carrier thread for the whole wait and can starve all other requests.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+	private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final int LOGGED_FRAMES = 8;
+
+	private final RecordingStream recording = new RecordingStream();
+	private final LongAdder pinnedCount = new LongAdder();
+
+	public VirtualThreadPinningMonitor(@Value("${flight-booking.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+		recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+		recording.onEvent(PINNED_EVENT, this::report);
+		recording.startAsync();
+	}
+
+	public long getPinnedCount() {
+		return pinnedCount.sum();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		recording.close();
+	}
+
+	void report(RecordedEvent event) {
+		pinnedCount.increment();
+		String frames = event.getStackTrace() == null ? "<no stack trace>" : event.getStackTrace().getFrames().stream()
+				.limit(LOGGED_FRAMES)
+				.map(RecordedFrame::getMethod)
+				.map(method -> method.getType().getName() + "." + method.getName())
+				.collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+		log.warn("Virtual thread {} was pinned for {} ms{}", event.getThread() == null ? "?" : event.getThread().getJavaName(),
+				event.getDuration().toMillis(), frames);
+	}
+}
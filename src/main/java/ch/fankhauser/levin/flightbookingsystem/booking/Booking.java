@@ -4,27 +4,35 @@ import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
 import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 
-@Data
+@Getter
+@Setter
 @Entity
 public class Booking {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+	@SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
 	private Long id;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "passenger_id", nullable = false)
+	@NotNull
 	private Passenger passenger;
 
 	@Column(length = 100, nullable = false)
@@ -38,28 +46,51 @@ public class Booking {
 	private String destination;
 
 	@Column(nullable = false)
+	@NotNull
 	private LocalDateTime departure;
 
 	@Column(nullable = false)
+	@NotNull
 	private LocalDateTime arrival;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "first_flight_id", nullable = false)
+	@NotNull
 	private Flight firstFlight;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "second_flight_id")
 	private Flight secondFlight;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "third_flight_id")
 	private Flight thirdFlight;
 
 	@Column(nullable = false)
+	@NotNull
 	private LocalDateTime bookingDate;
 
 	@Column(length = 255, nullable = false)
 	@Size(max = 255)
 	@NotEmpty
 	private String createdBy;
-}
\ No newline at end of file
+
+	@Version
+	@Column(nullable = false)
+	private long version;
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		// Compared through the getter and instanceof so that lazy proxies equal the entity they stand for.
+		return other instanceof Booking that && id != null && id.equals(that.getId());
+	}
+
+	@Override
+	public int hashCode() {
+		// Constant so that the hash does not change when a new entity is assigned its id on persist.
+		return Booking.class.hashCode();
+	}
+}
@@ -1,5 +1,7 @@
 package ch.fankhauser.levin.flightbookingsystem.booking;
 
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.base.EntityTags;
 import ch.fankhauser.levin.flightbookingsystem.security.Roles;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,11 +10,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/admin/booking")
@@ -22,21 +30,39 @@ import java.util.List;
 public class BookingAdminController {
 
 	private final BookingAdminService bookingAdminService;
+	private final BookingImportService bookingImportService;
+	private final BookingExportService bookingExportService;
 
-	public BookingAdminController(BookingAdminService bookingAdminService) {
+	public BookingAdminController(BookingAdminService bookingAdminService, BookingImportService bookingImportService,
+			BookingExportService bookingExportService) {
 		this.bookingAdminService = bookingAdminService;
+		this.bookingImportService = bookingImportService;
+		this.bookingExportService = bookingExportService;
 	}
 
 	@GetMapping
 	@RolesAllowed(Roles.Admin)
-	@Operation(summary = "Retrieve all bookings", description = "This operation returns a list of all bookings.", responses = {
+	@Operation(summary = "Retrieve all bookings", description = "This operation returns a page of bookings ordered by ID.", responses = {
 			@ApiResponse(responseCode = "200", description = "Bookings successfully retrieved"),
 			@ApiResponse(responseCode = "403", description = "Access denied") })
-	public ResponseEntity<List<Booking>> getAllBookings() {
-		List<Booking> result = bookingAdminService.findAllBookings();
+	public ResponseEntity<CursorPage<Booking>> getAllBookings(
+			@Parameter(description = "Cursor of the next page as returned by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of bookings per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		CursorPage<Booking> result = bookingAdminService.findAllBookings(cursor, size);
 		return ResponseEntity.ok(result);
 	}
 
+	@GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@RolesAllowed(Roles.Admin)
+	@Operation(summary = "Export all bookings", description = "Streams all bookings as newline-delimited JSON, one booking per line.", responses = {
+			@ApiResponse(responseCode = "200", description = "Bookings successfully streamed"),
+			@ApiResponse(responseCode = "403", description = "Access denied") })
+	public ResponseEntity<StreamingResponseBody> exportBookings() {
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(bookingExportService::exportBookings);
+	}
+
 	@GetMapping("/{id}")
 	@RolesAllowed(Roles.Admin)
 	@Operation(summary = "Retrieve booking by ID", description = "Returns a single booking by its ID.", parameters = {
@@ -46,7 +72,7 @@ public class BookingAdminController {
 			@ApiResponse(responseCode = "403", description = "Access denied") })
 	public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
 		Booking result = bookingAdminService.findBookingById(id);
-		return ResponseEntity.ok(result);
+		return ResponseEntity.ok().eTag(EntityTags.of(result.getVersion())).body(result);
 	}
 
 	@PostMapping
@@ -61,6 +87,18 @@ public class BookingAdminController {
 		return ResponseEntity.ok(savedBooking);
 	}
 
+	@PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@RolesAllowed(Roles.Admin)
+	@Operation(summary = "Import bookings", description = "Imports a JSON array of bookings in batches and reports the rows that could not be imported.", responses = {
+			@ApiResponse(responseCode = "200", description = "Import finished, see the failures for rejected rows"),
+			@ApiResponse(responseCode = "400", description = "Body is not a JSON array"),
+			@ApiResponse(responseCode = "403", description = "Access denied") })
+	public ResponseEntity<BookingImportResult> importBookings(
+			@Parameter(description = "JSON array of bookings", required = true) InputStream bookings) throws IOException {
+		BookingImportResult result = bookingImportService.importBookings(bookings);
+		return ResponseEntity.ok(result);
+	}
+
 	@PutMapping("/{id}")
 	@RolesAllowed(Roles.Admin)
 	@Operation(summary = "Update booking", description = "Updates an existing booking by its ID.", parameters = {
@@ -68,12 +106,15 @@ public class BookingAdminController {
 			@ApiResponse(responseCode = "200", description = "Booking successfully updated"),
 			@ApiResponse(responseCode = "400", description = "Invalid input data"),
 			@ApiResponse(responseCode = "404", description = "Booking not found"),
-			@ApiResponse(responseCode = "403", description = "Access denied") })
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "409", description = "Concurrently modified"),
+			@ApiResponse(responseCode = "412", description = "If-Match does not match the current version") })
 	public ResponseEntity<Booking> updateBooking(
 			@PathVariable Long id,
+			@Parameter(description = "ETag of the version the update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 			@Valid @RequestBody @Parameter(description = "Updated booking data", required = true) BookingAdminRequestDTO booking) {
-		Booking savedBooking = bookingAdminService.updateBooking(id, booking);
-		return ResponseEntity.ok(savedBooking);
+		Booking savedBooking = bookingAdminService.updateBooking(id, booking, EntityTags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(EntityTags.of(savedBooking.getVersion())).body(savedBooking);
 	}
 
 	@DeleteMapping("/{id}")
@@ -1,6 +1,11 @@
 package ch.fankhauser.levin.flightbookingsystem.booking;
 
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.base.EntityTags;
+import ch.fankhauser.levin.flightbookingsystem.base.OptimisticRetry;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -9,13 +14,19 @@ import java.util.List;
 public class BookingAdminService {
 
 	private final BookingRepository bookingRepository;
+	private final SeatInventory seatInventory;
+	private final BookingPageCache bookingPageCache;
 
-	public BookingAdminService(BookingRepository bookingRepository) {
+	public BookingAdminService(BookingRepository bookingRepository, SeatInventory seatInventory, BookingPageCache bookingPageCache) {
 		this.bookingRepository = bookingRepository;
+		this.seatInventory = seatInventory;
+		this.bookingPageCache = bookingPageCache;
 	}
 
-	public List<Booking> findAllBookings() {
-		return bookingRepository.findAll();
+	public CursorPage<Booking> findAllBookings(String cursor, Integer size) {
+		int limit = CursorPage.boundedSize(size);
+		List<Booking> rows = bookingRepository.findAllByIdGreaterThanOrderByIdAsc(Cursor.decodeId(cursor), Limit.of(limit + 1));
+		return CursorPage.of(rows, limit, booking -> Cursor.encode(booking.getId()));
 	}
 
 	public Booking findBookingById(Long id) {
@@ -23,11 +34,22 @@ public class BookingAdminService {
 	}
 
 	public Booking createBooking(BookingAdminRequestDTO booking) {
-		return bookingRepository.save(mapDtoToEntity(booking));
+		Booking newBooking = mapDtoToEntity(booking);
+		Booking savedBooking = seatInventory.reserving(SeatInventory.flightIdsOf(newBooking), () -> bookingRepository.save(newBooking));
+		bookingPageCache.evict(savedBooking.getCreatedBy());
+		return savedBooking;
 	}
 
 	public Booking updateBooking(Long id, BookingAdminRequestDTO booking) {
-		return bookingRepository.findById(id).map(existingBooking -> {
+		return updateBooking(id, booking, null);
+	}
+
+	public Booking updateBooking(Long id, BookingAdminRequestDTO booking, Long expectedVersion) {
+		return OptimisticRetry.updating(expectedVersion, () -> {
+			Booking existingBooking = findBookingById(id);
+			EntityTags.requireMatch(expectedVersion, existingBooking.getVersion());
+			List<Long> previousFlightIds = SeatInventory.flightIdsOf(existingBooking);
+			String previousCreatedBy = existingBooking.getCreatedBy();
 			existingBooking.setPassenger(booking.passenger());
 			existingBooking.setOrigin(booking.origin());
 			existingBooking.setDestination(booking.destination());
@@ -38,18 +60,22 @@ public class BookingAdminService {
 			existingBooking.setThirdFlight(booking.thirdFlight());
 			existingBooking.setBookingDate(booking.bookingDate());
 			existingBooking.setCreatedBy(booking.createdBy());
-			return bookingRepository.save(existingBooking);
-		}).orElseGet(() -> bookingRepository.save(mapDtoToEntity(booking)));
+			Booking savedBooking = seatInventory.exchanging(previousFlightIds, SeatInventory.flightIdsOf(existingBooking), () -> bookingRepository.save(existingBooking));
+			bookingPageCache.evict(previousCreatedBy);
+			bookingPageCache.evict(savedBooking.getCreatedBy());
+			return savedBooking;
+		});
 	}
 
 	public void deleteBooking(Long id) {
-		if (!bookingRepository.existsById(id)) {
-			throw new EntityNotFoundException("Booking not found with id " + id);
-		}
-		bookingRepository.deleteById(id);
+		Booking existingBooking = bookingRepository.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Booking not found with id " + id));
+		bookingRepository.delete(existingBooking);
+		seatInventory.release(SeatInventory.flightIdsOf(existingBooking));
+		bookingPageCache.evict(existingBooking.getCreatedBy());
 	}
 
-	private Booking mapDtoToEntity(BookingAdminRequestDTO booking) {
+	Booking mapDtoToEntity(BookingAdminRequestDTO booking) {
 		Booking entity = new Booking();
 		entity.setPassenger(booking.passenger());
 		entity.setOrigin(booking.origin());
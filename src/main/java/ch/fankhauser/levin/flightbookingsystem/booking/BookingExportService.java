@@ -0,0 +1,64 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class BookingExportService {
+
+	private final BookingRepository bookingRepository;
+	private final EntityManager entityManager;
+	private final ObjectWriter ndjsonWriter;
+	private final TransactionTemplate readOnlyTransaction;
+
+	public BookingExportService(BookingRepository bookingRepository, EntityManager entityManager, ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager) {
+		this.bookingRepository = bookingRepository;
+		this.entityManager = entityManager;
+		this.ndjsonWriter = objectMapper.writerFor(Booking.class)
+				.withRootValueSeparator("\n")
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	public void exportBookings(OutputStream out) throws IOException {
+		try {
+			readOnlyTransaction.executeWithoutResult(status -> writeAll(out));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private void writeAll(OutputStream out) {
+		try (Stream<Booking> bookings = bookingRepository.streamAll(); SequenceWriter rows = ndjsonWriter.writeValues(out)) {
+			Iterator<Booking> iterator = bookings.iterator();
+			int written = 0;
+			while (iterator.hasNext()) {
+				rows.write(iterator.next());
+				if (++written % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+					rows.flush();
+					entityManager.clear();
+				}
+			}
+			if (written > 0) {
+				rows.flush();
+				out.write('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+public record BookingImportFailure(
+		int row,
+		String message) {
+
+}
@@ -0,0 +1,10 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import java.util.List;
+
+public record BookingImportResult(
+		int received,
+		int imported,
+		List<BookingImportFailure> failures) {
+
+}
@@ -0,0 +1,160 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import ch.fankhauser.levin.flightbookingsystem.base.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class BookingImportService {
+
+	private final BookingRepository bookingRepository;
+	private final BookingAdminService bookingAdminService;
+	private final SeatInventory seatInventory;
+	private final BookingPageCache bookingPageCache;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+
+	public BookingImportService(BookingRepository bookingRepository, BookingAdminService bookingAdminService, SeatInventory seatInventory,
+			BookingPageCache bookingPageCache, ObjectMapper objectMapper, Validator validator, PlatformTransactionManager transactionManager,
+			@Value("${flight-booking.import.chunk-size:500}") int chunkSize) {
+		this.bookingRepository = bookingRepository;
+		this.bookingAdminService = bookingAdminService;
+		this.seatInventory = seatInventory;
+		this.bookingPageCache = bookingPageCache;
+		this.objectMapper = objectMapper;
+		this.validator = validator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+	}
+
+	public BookingImportResult importBookings(InputStream bookings) throws IOException {
+		Progress progress = new Progress();
+		try (JsonParser parser = objectMapper.createParser(bookings)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new InvalidRequestException("Expected a JSON array of bookings");
+			}
+			// Rows hold their seats from parsing until their chunk is written, and give them back if it never is.
+			Deque<PendingRow> chunk = new ArrayDeque<>(chunkSize);
+			try {
+				try {
+					while (parser.nextToken() != JsonToken.END_ARRAY) {
+						PendingRow pendingRow = readRow(parser.readValueAsTree(), ++progress.received, progress);
+						if (pendingRow != null) {
+							chunk.add(pendingRow);
+						}
+						if (chunk.size() == chunkSize) {
+							writeChunk(chunk, progress);
+						}
+					}
+				} catch (JsonProcessingException e) {
+					progress.fail(progress.received, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+				}
+				writeChunk(chunk, progress);
+			} finally {
+				chunk.forEach(pendingRow -> seatInventory.release(pendingRow.flightIds()));
+			}
+		}
+		return new BookingImportResult(progress.received, progress.imported, progress.failures);
+	}
+
+	private PendingRow readRow(JsonNode node, int row, Progress progress) {
+		try {
+			BookingAdminRequestDTO booking = objectMapper.treeToValue(node, BookingAdminRequestDTO.class);
+			Set<ConstraintViolation<Booking>> violations = validator.validate(bookingAdminService.mapDtoToEntity(booking));
+			if (!violations.isEmpty()) {
+				progress.fail(row, violations.stream()
+						.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+						.sorted()
+						.collect(Collectors.joining("; ")));
+				return null;
+			}
+			List<Long> flightIds = SeatInventory.flightIdsOf(booking.firstFlight(), booking.secondFlight(), booking.thirdFlight());
+			seatInventory.reserve(flightIds);
+			return new PendingRow(row, booking, flightIds);
+		} catch (IOException | RuntimeException e) {
+			progress.fail(row, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Writes and empties the chunk. Rows leave it once they are settled, so the rows still in it after a failure are the
+	 * ones whose seats have to be released.
+	 */
+	private void writeChunk(Deque<PendingRow> chunk, Progress progress) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		Set<String> importedFor = new HashSet<>();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				bookingRepository.saveAll(chunk.stream().map(pendingRow -> bookingAdminService.mapDtoToEntity(pendingRow.booking())).toList());
+				bookingRepository.flush();
+			});
+			progress.imported += chunk.size();
+			chunk.forEach(pendingRow -> importedFor.add(pendingRow.booking().createdBy()));
+			chunk.clear();
+		} catch (RuntimeException chunkFailure) {
+			PendingRow pendingRow;
+			while ((pendingRow = chunk.peek()) != null) {
+				if (writeRow(pendingRow, progress)) {
+					importedFor.add(pendingRow.booking().createdBy());
+				}
+				chunk.remove();
+			}
+		}
+		importedFor.forEach(bookingPageCache::evict);
+	}
+
+	private boolean writeRow(PendingRow pendingRow, Progress progress) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAndFlush(bookingAdminService.mapDtoToEntity(pendingRow.booking())));
+			progress.imported++;
+			return true;
+		} catch (RuntimeException e) {
+			seatInventory.release(pendingRow.flightIds());
+			progress.fail(pendingRow.row(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+			return false;
+		}
+	}
+
+	private record PendingRow(
+			int row,
+			BookingAdminRequestDTO booking,
+			List<Long> flightIds) {
+
+	}
+
+	private static final class Progress {
+
+		private final List<BookingImportFailure> failures = new ArrayList<>();
+		private int received;
+		private int imported;
+
+		private void fail(int row, String message) {
+			failures.add(new BookingImportFailure(row, message));
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import ch.fankhauser.levin.flightbookingsystem.base.UserPageCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class BookingPageCache extends UserPageCache<BookingResponseDTO> {
+
+	public BookingPageCache(@Value("${flight-booking.user-cache.maximum-users:10000}") long maximumUsers,
+			@Value("${flight-booking.user-cache.ttl:5m}") Duration ttl) {
+		super("booking-pages", maximumUsers, ttl);
+	}
+}
@@ -1,15 +1,43 @@
 package ch.fankhauser.levin.flightbookingsystem.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-	List<Booking> findAllByCreatedBy(String createdBy);
+	int EXPORT_FETCH_SIZE = 500;
 
+	@EntityGraph(attributePaths = { "passenger", "firstFlight.airplane", "secondFlight.airplane", "thirdFlight.airplane" })
+	List<Booking> findAllByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	@EntityGraph(attributePaths = { "passenger", "firstFlight.airplane", "secondFlight.airplane", "thirdFlight.airplane" })
+	List<Booking> findAllByCreatedByAndIdGreaterThanOrderByIdAsc(String createdBy, Long id, Limit limit);
+
+	@Override
+	@EntityGraph(attributePaths = { "passenger", "firstFlight.airplane", "secondFlight.airplane", "thirdFlight.airplane" })
+	Optional<Booking> findById(Long id);
+
+	@EntityGraph(attributePaths = { "passenger", "firstFlight.airplane", "secondFlight.airplane", "thirdFlight.airplane" })
 	Optional<Booking> findByIdAndCreatedBy(Long id, String createdBy);
+
+	@QueryHints({
+			@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT b FROM Booking b JOIN FETCH b.passenger JOIN FETCH b.firstFlight ff JOIN FETCH ff.airplane "
+			+ "LEFT JOIN FETCH b.secondFlight sf LEFT JOIN FETCH sf.airplane LEFT JOIN FETCH b.thirdFlight tf LEFT JOIN FETCH tf.airplane ORDER BY b.id")
+	Stream<Booking> streamAll();
+
+	@Query("SELECT COUNT(b) FROM Booking b WHERE b.firstFlight.id = :flightId OR b.secondFlight.id = :flightId OR b.thirdFlight.id = :flightId")
+	long countByFlightId(Long flightId);
 }
@@ -0,0 +1,28 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightResponseDTO;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerResponseDTO;
+
+import java.time.LocalDateTime;
+
+public record BookingResponseDTO(
+		Long id,
+		PassengerResponseDTO passenger,
+		String origin,
+		String destination,
+		LocalDateTime departure,
+		LocalDateTime arrival,
+		FlightResponseDTO firstFlight,
+		FlightResponseDTO secondFlight,
+		FlightResponseDTO thirdFlight,
+		LocalDateTime bookingDate,
+		String createdBy,
+		long version) {
+
+	public static BookingResponseDTO of(Booking booking) {
+		return new BookingResponseDTO(booking.getId(), PassengerResponseDTO.of(booking.getPassenger()), booking.getOrigin(),
+				booking.getDestination(), booking.getDeparture(), booking.getArrival(), FlightResponseDTO.of(booking.getFirstFlight()),
+				FlightResponseDTO.of(booking.getSecondFlight()), FlightResponseDTO.of(booking.getThirdFlight()), booking.getBookingDate(),
+				booking.getCreatedBy(), booking.getVersion());
+	}
+}
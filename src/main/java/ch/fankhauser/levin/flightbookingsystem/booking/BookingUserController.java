@@ -1,19 +1,24 @@
 package ch.fankhauser.levin.flightbookingsystem.booking;
 
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.base.EntityTags;
+import ch.fankhauser.levin.flightbookingsystem.idempotency.IdempotencyFilter;
 import ch.fankhauser.levin.flightbookingsystem.security.Roles;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/booking")
 @SecurityRequirement(name = "bearerAuth")
@@ -29,11 +34,13 @@ public class BookingUserController {
 
 	@GetMapping
 	@RolesAllowed(Roles.User)
-	@Operation(summary = "Retrieve all bookings of the current user", description = "Returns all bookings associated with the authenticated user.", responses = {
+	@Operation(summary = "Retrieve all bookings of the current user", description = "Returns a page of bookings associated with the authenticated user.", responses = {
 			@ApiResponse(responseCode = "200", description = "Bookings successfully retrieved"),
 			@ApiResponse(responseCode = "403", description = "Access denied") })
-	public ResponseEntity<List<Booking>> getAllBookings() {
-		List<Booking> result = bookingUserService.findAllBookings();
+	public ResponseEntity<CursorPage<BookingResponseDTO>> getAllBookings(
+			@Parameter(description = "Cursor of the next page as returned by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of bookings per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		CursorPage<BookingResponseDTO> result = bookingUserService.findAllBookings(cursor, size);
 		return ResponseEntity.ok(result);
 	}
 
@@ -46,15 +53,18 @@ public class BookingUserController {
 			@ApiResponse(responseCode = "404", description = "Booking not found") })
 	public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
 		Booking result = bookingUserService.findBookingById(id);
-		return ResponseEntity.ok(result);
+		return ResponseEntity.ok().eTag(EntityTags.of(result.getVersion())).body(result);
 	}
 
 	@PostMapping
 	@RolesAllowed(Roles.User)
-	@Operation(summary = "Create a new booking", description = "Creates a new booking for the authenticated user.", responses = {
+	@Operation(summary = "Create a new booking", description = "Creates a new booking for the authenticated user.", parameters = {
+			@Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.IDEMPOTENCY_KEY, description = "Unique key of this request; retries with the same key return the first response") }, responses = {
 			@ApiResponse(responseCode = "200", description = "Booking successfully created"),
 			@ApiResponse(responseCode = "400", description = "Invalid input data"),
-			@ApiResponse(responseCode = "403", description = "Access denied") })
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress"),
+			@ApiResponse(responseCode = "422", description = "Idempotency-Key was used for a different request") })
 	public ResponseEntity<Booking> createBooking(
 			@Valid @RequestBody @Parameter(description = "Details of the new booking", required = true) BookingRequestDTO booking) {
 		Booking savedBooking = bookingUserService.createBooking(booking);
@@ -68,12 +78,15 @@ public class BookingUserController {
 			@ApiResponse(responseCode = "200", description = "Booking successfully updated"),
 			@ApiResponse(responseCode = "400", description = "Invalid input data"),
 			@ApiResponse(responseCode = "403", description = "Access denied"),
-			@ApiResponse(responseCode = "404", description = "Booking not found") })
+			@ApiResponse(responseCode = "404", description = "Booking not found"),
+			@ApiResponse(responseCode = "409", description = "Concurrently modified"),
+			@ApiResponse(responseCode = "412", description = "If-Match does not match the current version") })
 	public ResponseEntity<Booking> updateBooking(
 			@PathVariable Long id,
+			@Parameter(description = "ETag of the version the update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 			@Valid @RequestBody @Parameter(description = "Updated booking data", required = true) BookingRequestDTO booking) {
-		Booking savedBooking = bookingUserService.updateBooking(id, booking);
-		return ResponseEntity.ok(savedBooking);
+		Booking savedBooking = bookingUserService.updateBooking(id, booking, EntityTags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(EntityTags.of(savedBooking.getVersion())).body(savedBooking);
 	}
 
 	@DeleteMapping("/{id}")
@@ -1,6 +1,11 @@
 package ch.fankhauser.levin.flightbookingsystem.booking;
 
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.base.EntityTags;
+import ch.fankhauser.levin.flightbookingsystem.base.OptimisticRetry;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -10,14 +15,22 @@ import java.util.List;
 public class BookingUserService {
 
 	private final BookingRepository bookingRepository;
+	private final SeatInventory seatInventory;
+	private final BookingPageCache bookingPageCache;
 
-	public BookingUserService(BookingRepository bookingRepository) {
+	public BookingUserService(BookingRepository bookingRepository, SeatInventory seatInventory, BookingPageCache bookingPageCache) {
 		this.bookingRepository = bookingRepository;
+		this.seatInventory = seatInventory;
+		this.bookingPageCache = bookingPageCache;
 	}
 
-	public List<Booking> findAllBookings() {
+	public CursorPage<BookingResponseDTO> findAllBookings(String cursor, Integer size) {
 		String uname = SecurityContextHolder.getContext().getAuthentication().getName();
-		return bookingRepository.findAllByCreatedBy(uname);
+		int limit = CursorPage.boundedSize(size);
+		return bookingPageCache.get(uname, cursor, limit, () -> {
+			List<Booking> rows = bookingRepository.findAllByCreatedByAndIdGreaterThanOrderByIdAsc(uname, Cursor.decodeId(cursor), Limit.of(limit + 1));
+			return CursorPage.of(rows, limit, booking -> Cursor.encode(booking.getId())).map(BookingResponseDTO::of);
+		});
 	}
 
 	public Booking findBookingById(Long id) {
@@ -29,12 +42,30 @@ public class BookingUserService {
 	public Booking createBooking(BookingRequestDTO booking) {
 		Booking newBooking = mapDtoToEntity(booking);
 		newBooking.setCreatedBy(SecurityContextHolder.getContext().getAuthentication().getName());
-		return bookingRepository.save(newBooking);
+		Booking savedBooking = seatInventory.reserving(SeatInventory.flightIdsOf(newBooking), () -> bookingRepository.save(newBooking));
+		bookingPageCache.evict(savedBooking.getCreatedBy());
+		return savedBooking;
+	}
+
+	Booking createHeldBooking(BookingRequestDTO booking) {
+		Booking newBooking = mapDtoToEntity(booking);
+		newBooking.setCreatedBy(SecurityContextHolder.getContext().getAuthentication().getName());
+		Booking savedBooking = bookingRepository.save(newBooking);
+		bookingPageCache.evict(savedBooking.getCreatedBy());
+		return savedBooking;
 	}
 
 	public Booking updateBooking(Long id, BookingRequestDTO booking) {
+		return updateBooking(id, booking, null);
+	}
+
+	public Booking updateBooking(Long id, BookingRequestDTO booking, Long expectedVersion) {
 		String uname = SecurityContextHolder.getContext().getAuthentication().getName();
-		return bookingRepository.findByIdAndCreatedBy(id, uname).map(existingBooking -> {
+		return OptimisticRetry.updating(expectedVersion, () -> {
+			Booking existingBooking = bookingRepository.findByIdAndCreatedBy(id, uname)
+					.orElseThrow(() -> new EntityNotFoundException("Booking not found with id: " + id + " and createdBy: " + uname));
+			EntityTags.requireMatch(expectedVersion, existingBooking.getVersion());
+			List<Long> previousFlightIds = SeatInventory.flightIdsOf(existingBooking);
 			existingBooking.setPassenger(booking.passenger());
 			existingBooking.setOrigin(booking.origin());
 			existingBooking.setDestination(booking.destination());
@@ -44,14 +75,19 @@ public class BookingUserService {
 			existingBooking.setSecondFlight(booking.secondFlight());
 			existingBooking.setThirdFlight(booking.thirdFlight());
 			existingBooking.setBookingDate(booking.bookingDate());
-			return bookingRepository.save(existingBooking);
-		}).orElseGet(() -> createBooking(booking));
+			Booking savedBooking = seatInventory.exchanging(previousFlightIds, SeatInventory.flightIdsOf(existingBooking), () -> bookingRepository.save(existingBooking));
+			bookingPageCache.evict(uname);
+			return savedBooking;
+		});
 	}
 
 	public void deleteBooking(Long id) {
 		String uname = SecurityContextHolder.getContext().getAuthentication().getName();
-		bookingRepository.findByIdAndCreatedBy(id, uname).ifPresentOrElse(
-				bookingRepository::delete, () -> {
+		bookingRepository.findByIdAndCreatedBy(id, uname).ifPresentOrElse(existingBooking -> {
+			bookingRepository.delete(existingBooking);
+			seatInventory.release(SeatInventory.flightIdsOf(existingBooking));
+			bookingPageCache.evict(uname);
+		}, () -> {
 					throw new EntityNotFoundException("Booking not found with id: " + id + " and createdBy: " + uname);
 				});
 	}
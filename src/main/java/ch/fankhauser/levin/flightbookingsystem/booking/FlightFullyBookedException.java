@@ -0,0 +1,8 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+public class FlightFullyBookedException extends RuntimeException {
+
+	public FlightFullyBookedException(Long flightId) {
+		super("Flight is fully booked with id: " + flightId);
+	}
+}
@@ -0,0 +1,13 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record SeatHold(
+		UUID id,
+		List<Long> flightIds,
+		String createdBy,
+		Instant expiresAt) {
+
+}
@@ -0,0 +1,70 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import ch.fankhauser.levin.flightbookingsystem.security.Roles;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/booking/hold")
+@SecurityRequirement(name = "bearerAuth")
+@Validated
+@Tag(name = "Seat holds (User)", description = "Temporarily hold seats before confirming a booking")
+public class SeatHoldController {
+
+	private final SeatHoldService seatHoldService;
+
+	public SeatHoldController(SeatHoldService seatHoldService) {
+		this.seatHoldService = seatHoldService;
+	}
+
+	@PostMapping
+	@RolesAllowed(Roles.User)
+	@Operation(summary = "Hold seats", description = "Holds one seat on every given flight until the hold expires.", responses = {
+			@ApiResponse(responseCode = "200", description = "Seats successfully held"),
+			@ApiResponse(responseCode = "400", description = "Invalid input data"),
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "404", description = "Flight not found"),
+			@ApiResponse(responseCode = "409", description = "Conflict: Flight is fully booked") })
+	public ResponseEntity<SeatHold> createHold(
+			@Valid @RequestBody @Parameter(description = "Flights to hold a seat on", required = true) SeatHoldRequestDTO hold) {
+		SeatHold savedHold = seatHoldService.createHold(hold);
+		return ResponseEntity.ok(savedHold);
+	}
+
+	@PostMapping("/{id}/confirm")
+	@RolesAllowed(Roles.User)
+	@Operation(summary = "Confirm seat hold", description = "Turns a seat hold of the authenticated user into a booking.", parameters = {
+			@Parameter(name = "id", description = "ID of the seat hold", required = true) }, responses = {
+			@ApiResponse(responseCode = "200", description = "Booking successfully created"),
+			@ApiResponse(responseCode = "400", description = "Booking flights do not match the seat hold"),
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "404", description = "Seat hold not found or expired") })
+	public ResponseEntity<Booking> confirmHold(
+			@PathVariable UUID id,
+			@Valid @RequestBody @Parameter(description = "Details of the new booking", required = true) BookingRequestDTO booking) {
+		Booking savedBooking = seatHoldService.confirmHold(id, booking);
+		return ResponseEntity.ok(savedBooking);
+	}
+
+	@DeleteMapping("/{id}")
+	@RolesAllowed(Roles.User)
+	@Operation(summary = "Release seat hold", description = "Releases the seats of a hold of the authenticated user.", parameters = {
+			@Parameter(name = "id", description = "ID of the seat hold", required = true) }, responses = {
+			@ApiResponse(responseCode = "204", description = "Seat hold successfully released"),
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "404", description = "Seat hold not found or expired") })
+	public ResponseEntity<Void> releaseHold(@PathVariable UUID id) {
+		seatHoldService.releaseHold(id);
+		return ResponseEntity.noContent().build();
+	}
+}
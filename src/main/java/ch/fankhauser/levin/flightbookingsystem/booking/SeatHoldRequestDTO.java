@@ -0,0 +1,10 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+
+public record SeatHoldRequestDTO(
+		Flight firstFlight,
+		Flight secondFlight,
+		Flight thirdFlight) {
+
+}
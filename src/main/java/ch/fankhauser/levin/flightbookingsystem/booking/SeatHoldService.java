@@ -0,0 +1,114 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import ch.fankhauser.levin.flightbookingsystem.base.HashedTimingWheel;
+import ch.fankhauser.levin.flightbookingsystem.base.InvalidRequestException;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class SeatHoldService {
+
+	private final SeatInventory seatInventory;
+	private final BookingUserService bookingUserService;
+	private final Duration ttl;
+	private final HashedTimingWheel expiryWheel;
+	private final Map<UUID, ActiveHold> holds = new ConcurrentHashMap<>();
+
+	public SeatHoldService(SeatInventory seatInventory, BookingUserService bookingUserService,
+			@Value("${flight-booking.holds.ttl:10m}") Duration ttl,
+			@Value("${flight-booking.holds.tick:1s}") Duration tick,
+			@Value("${flight-booking.holds.wheel-size:512}") int wheelSize,
+			TaskScheduler taskScheduler) {
+		this.seatInventory = seatInventory;
+		this.bookingUserService = bookingUserService;
+		this.ttl = ttl;
+		this.expiryWheel = new HashedTimingWheel(tick, wheelSize, taskScheduler);
+	}
+
+	public SeatHold createHold(SeatHoldRequestDTO request) {
+		String uname = SecurityContextHolder.getContext().getAuthentication().getName();
+		List<Long> flightIds = SeatInventory.flightIdsOf(request.firstFlight(), request.secondFlight(), request.thirdFlight());
+		if (flightIds.isEmpty()) {
+			throw new InvalidRequestException("A seat hold needs at least one flight");
+		}
+		seatInventory.reserve(flightIds);
+		SeatHold hold = new SeatHold(UUID.randomUUID(), flightIds, uname, Instant.now().plus(ttl));
+		ActiveHold activeHold = new ActiveHold(hold);
+		holds.put(hold.id(), activeHold);
+		activeHold.expiry = expiryWheel.schedule(() -> expire(hold.id()), ttl);
+		return hold;
+	}
+
+	public Booking confirmHold(UUID id, BookingRequestDTO booking) {
+		ActiveHold activeHold = findOwnHold(id);
+		List<Long> flightIds = SeatInventory.flightIdsOf(booking.firstFlight(), booking.secondFlight(), booking.thirdFlight());
+		if (!activeHold.hold.flightIds().equals(flightIds)) {
+			throw new InvalidRequestException("Booking flights do not match seat hold with id: " + id);
+		}
+		claim(id, activeHold);
+		try {
+			return bookingUserService.createHeldBooking(booking);
+		} catch (RuntimeException e) {
+			seatInventory.release(flightIds);
+			throw e;
+		}
+	}
+
+	public void releaseHold(UUID id) {
+		ActiveHold activeHold = findOwnHold(id);
+		claim(id, activeHold);
+		seatInventory.release(activeHold.hold.flightIds());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		expiryWheel.close();
+	}
+
+	private void expire(UUID id) {
+		ActiveHold activeHold = holds.remove(id);
+		if (activeHold != null) {
+			seatInventory.release(activeHold.hold.flightIds());
+		}
+	}
+
+	private ActiveHold findOwnHold(UUID id) {
+		String uname = SecurityContextHolder.getContext().getAuthentication().getName();
+		ActiveHold activeHold = holds.get(id);
+		if (activeHold == null || !activeHold.hold.createdBy().equals(uname)) {
+			throw new EntityNotFoundException("Seat hold not found with id: " + id + " and createdBy: " + uname);
+		}
+		return activeHold;
+	}
+
+	private void claim(UUID id, ActiveHold activeHold) {
+		if (!holds.remove(id, activeHold)) {
+			throw new EntityNotFoundException("Seat hold expired with id: " + id);
+		}
+		HashedTimingWheel.Timeout expiry = activeHold.expiry;
+		if (expiry != null) {
+			expiry.cancel();
+		}
+	}
+
+	private static final class ActiveHold {
+
+		private final SeatHold hold;
+		private volatile HashedTimingWheel.Timeout expiry;
+
+		private ActiveHold(SeatHold hold) {
+			this.hold = hold;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Counts the booked seats of each flight in memory, so concurrent bookings cannot overbook a flight between checking and
+ * saving. A counter is seeded from the bookings and the seat capacity of its flight on first use and kept until the
+ * flight is deleted or departs. The counters are only correct while this instance is the only one writing bookings.
+ */
+@Component
+public class SeatInventory {
+
+	private final FlightRepository flightRepository;
+	private final BookingRepository bookingRepository;
+	private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+
+	public SeatInventory(FlightRepository flightRepository, BookingRepository bookingRepository) {
+		this.flightRepository = flightRepository;
+		this.bookingRepository = bookingRepository;
+	}
+
+	public static List<Long> flightIdsOf(Booking booking) {
+		return flightIdsOf(booking.getFirstFlight(), booking.getSecondFlight(), booking.getThirdFlight());
+	}
+
+	public static List<Long> flightIdsOf(Flight firstFlight, Flight secondFlight, Flight thirdFlight) {
+		return Stream.of(firstFlight, secondFlight, thirdFlight)
+				.filter(Objects::nonNull)
+				.map(Flight::getId)
+				.filter(Objects::nonNull)
+				.toList();
+	}
+
+	public <T> T reserving(List<Long> flightIds, Supplier<T> action) {
+		reserve(flightIds);
+		try {
+			return action.get();
+		} catch (RuntimeException e) {
+			release(flightIds);
+			throw e;
+		}
+	}
+
+	public <T> T exchanging(List<Long> previousFlightIds, List<Long> nextFlightIds, Supplier<T> action) {
+		List<Long> acquired = new ArrayList<>(nextFlightIds);
+		previousFlightIds.forEach(acquired::remove);
+		List<Long> released = new ArrayList<>(previousFlightIds);
+		nextFlightIds.forEach(released::remove);
+		T result = reserving(acquired, action);
+		release(released);
+		return result;
+	}
+
+	public void reserve(List<Long> flightIds) {
+		List<Long> acquired = new ArrayList<>(flightIds.size());
+		for (Long flightId : flightIds) {
+			if (!tryAcquire(flightId)) {
+				release(acquired);
+				throw new FlightFullyBookedException(flightId);
+			}
+			acquired.add(flightId);
+		}
+	}
+
+	public void release(Collection<Long> flightIds) {
+		for (Long flightId : flightIds) {
+			SeatCounter counter = counters.get(flightId);
+			if (counter != null) {
+				counter.booked.updateAndGet(current -> Math.max(0, current - 1));
+			}
+		}
+	}
+
+	/**
+	 * Reloads the seat capacity of a flight whose airplane or airplane capacity changed. Call it after the change has
+	 * committed, so the reload sees it.
+	 */
+	public void refreshCapacity(Long flightId) {
+		// Waits for a concurrent seed, which may have read the previous capacity.
+		counters.computeIfPresent(flightId, (id, counter) -> {
+			counter.capacity = capacityOf(id);
+			return counter;
+		});
+	}
+
+	/**
+	 * Drops the counter of a flight that was deleted or has departed.
+	 */
+	public void evict(Long flightId) {
+		counters.remove(flightId);
+	}
+
+	private boolean tryAcquire(Long flightId) {
+		SeatCounter counter = counterOf(flightId);
+		int current;
+		do {
+			current = counter.booked.get();
+			if (current >= counter.capacity) {
+				return false;
+			}
+		} while (!counter.booked.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	private int capacityOf(Long flightId) {
+		return flightRepository.findSeatCapacityById(flightId)
+				.orElseThrow(() -> new EntityNotFoundException("Flight not found with id: " + flightId));
+	}
+
+	private SeatCounter counterOf(Long flightId) {
+		SeatCounter counter = counters.get(flightId);
+		if (counter != null) {
+			return counter;
+		}
+		// Seeded atomically, so no thread acquires or releases on a counter that a concurrent seed replaces.
+		return counters.computeIfAbsent(flightId, id -> new SeatCounter(capacityOf(id), (int) bookingRepository.countByFlightId(id)));
+	}
+
+	private static final class SeatCounter {
+
+		private final AtomicInteger booked;
+		private volatile int capacity;
+
+		private SeatCounter(int capacity, int booked) {
+			this.capacity = capacity;
+			this.booked = new AtomicInteger(booked);
+		}
+	}
+}
@@ -1,28 +1,47 @@
 package ch.fankhauser.levin.flightbookingsystem.flight;
 
 import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
-@Data
+@Getter
+@Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "flight")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Table(indexes = { @Index(name = "idx_flight_route_departure", columnList = "origin, destination, departure"),
+		@Index(name = "idx_flight_updated_at", columnList = "updated_at, id") })
 public class Flight {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_seq")
+	@SequenceGenerator(name = "flight_seq", sequenceName = "flight_seq", allocationSize = 50)
 	private Long id;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "airplane_id", nullable = false)
 	private Airplane airplane;
 
@@ -46,4 +65,30 @@ public class Flight {
 	@Size(max = 255)
 	@NotEmpty
 	private String createdBy;
-}
\ No newline at end of file
+
+	@Version
+	@Column(nullable = false)
+	private long version;
+
+	@Column(nullable = false)
+	private LocalDateTime updatedAt;
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		updatedAt = FlightChangeFeed.now();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		return other instanceof Flight that && id != null && id.equals(that.getId());
+	}
+
+	@Override
+	public int hashCode() {
+		return Flight.class.hashCode();
+	}
+}
@@ -0,0 +1,28 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * The latest state of a changed flight. Deleted flights carry no flight.
+ */
+public record FlightChange(
+		Type type,
+		Long id,
+		LocalDateTime changedAt,
+		Flight flight) {
+
+	static final Comparator<FlightChange> ORDER = Comparator.comparing(FlightChange::changedAt).thenComparing(FlightChange::id);
+
+	public static FlightChange of(Flight flight) {
+		return new FlightChange(flight.getVersion() == 0 ? Type.CREATED : Type.UPDATED, flight.getId(), flight.getUpdatedAt(), flight);
+	}
+
+	static FlightChange of(FlightTombstone tombstone) {
+		return new FlightChange(Type.DELETED, tombstone.getFlightId(), tombstone.getDeletedAt(), null);
+	}
+
+	public enum Type {
+		CREATED, UPDATED, DELETED
+	}
+}
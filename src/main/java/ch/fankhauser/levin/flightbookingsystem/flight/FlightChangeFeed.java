@@ -0,0 +1,97 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorExpiredException;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts, updates and deletes of flights in the order of their change time, for clients that mirror the schedule.
+ * Changes younger than the settle time are held back, so that a transaction committing after a later one is not skipped.
+ * Tombstones of deleted flights are purged after the retention, and cursors older than that are rejected.
+ */
+@Service
+public class FlightChangeFeed {
+
+	private static final Logger log = LoggerFactory.getLogger(FlightChangeFeed.class);
+	private static final Cursor.Change BEGINNING = new Cursor.Change(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+	private final FlightRepository flightRepository;
+	private final FlightTombstoneRepository tombstoneRepository;
+	private final Duration settleTime;
+	private final Duration tombstoneRetention;
+
+	public FlightChangeFeed(FlightRepository flightRepository, FlightTombstoneRepository tombstoneRepository,
+			@Value("${flight-booking.changes.settle-time:5s}") Duration settleTime,
+			@Value("${flight-booking.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+		this.flightRepository = flightRepository;
+		this.tombstoneRepository = tombstoneRepository;
+		this.settleTime = settleTime;
+		this.tombstoneRetention = tombstoneRetention;
+	}
+
+	public FlightChangePage findChanges(String since, Integer size) {
+		int limit = CursorPage.boundedSize(size);
+		LocalDateTime now = now();
+		Cursor.Change position = Cursor.decodeChange(since);
+		if (position == null) {
+			position = BEGINNING;
+		} else if (position.changedAt().isBefore(now.minus(tombstoneRetention))) {
+			throw new CursorExpiredException("Cursor is older than the retention of deleted flights, sync from the beginning");
+		}
+		LocalDateTime settled = now.minus(settleTime);
+
+		List<FlightChange> changes = new ArrayList<>();
+		flightRepository.findChangedAfter(position.changedAt(), position.id(), settled, Limit.of(limit + 1))
+				.forEach(flight -> changes.add(FlightChange.of(flight)));
+		tombstoneRepository.findDeletedAfter(position.changedAt(), position.id(), settled, Limit.of(limit + 1))
+				.forEach(tombstone -> changes.add(FlightChange.of(tombstone)));
+		changes.sort(FlightChange.ORDER);
+
+		if (changes.size() > limit) {
+			FlightChange last = changes.get(limit - 1);
+			return new FlightChangePage(changes.subList(0, limit), Cursor.encodeChange(last.changedAt(), last.id()), true);
+		}
+		// Everything before the settle horizon has been returned, so the next sync can start there.
+		String nextCursor = settled.isAfter(position.changedAt())
+				? Cursor.encodeChange(settled, 0L)
+				: Cursor.encodeChange(position.changedAt(), position.id());
+		return new FlightChangePage(changes, nextCursor, false);
+	}
+
+	public FlightTombstone recordDeletion(Long flightId) {
+		FlightTombstone tombstone = new FlightTombstone();
+		tombstone.setFlightId(flightId);
+		tombstone.setDeletedAt(now());
+		return tombstoneRepository.save(tombstone);
+	}
+
+	@Scheduled(initialDelayString = "${flight-booking.changes.purge-interval:1h}", fixedDelayString = "${flight-booking.changes.purge-interval:1h}")
+	void purge() {
+		try {
+			tombstoneRepository.deleteAllDeletedBefore(now().minus(tombstoneRetention));
+		} catch (RuntimeException e) {
+			log.warn("Could not purge expired flight tombstones", e);
+		}
+	}
+
+	/**
+	 * The time to stamp a change with. Change times are UTC, so that they keep increasing when the server zone falls back
+	 * from daylight-saving time, and truncated to the column precision so that cursors match the stored values.
+	 */
+	public static LocalDateTime now() {
+		return LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+	}
+}
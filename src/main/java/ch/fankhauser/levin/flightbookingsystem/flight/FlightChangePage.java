@@ -0,0 +1,14 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import java.util.List;
+
+/**
+ * A page of the change feed. Unlike {@link ch.fankhauser.levin.flightbookingsystem.base.CursorPage} the next cursor is
+ * always set, since it is where the client resumes on its next sync.
+ */
+public record FlightChangePage(
+		List<FlightChange> changes,
+		String nextCursor,
+		boolean hasMore) {
+
+}
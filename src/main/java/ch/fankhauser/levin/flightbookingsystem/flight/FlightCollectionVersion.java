@@ -0,0 +1,8 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import ch.fankhauser.levin.flightbookingsystem.base.CollectionVersion;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FlightCollectionVersion extends CollectionVersion {
+}
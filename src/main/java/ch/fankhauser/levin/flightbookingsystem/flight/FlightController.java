@@ -1,5 +1,7 @@
 package ch.fankhauser.levin.flightbookingsystem.flight;
 
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.base.EntityTags;
 import ch.fankhauser.levin.flightbookingsystem.security.Roles;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,10 +10,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,18 +30,68 @@ import java.util.List;
 public class FlightController {
 
 	private final FlightService flightService;
+	private final FlightCollectionVersion flightCollectionVersion;
 
-	public FlightController(FlightService flightService) {
+	public FlightController(FlightService flightService, FlightCollectionVersion flightCollectionVersion) {
 		this.flightService = flightService;
+		this.flightCollectionVersion = flightCollectionVersion;
 	}
 
 	@GetMapping
 	@RolesAllowed({ Roles.Admin, Roles.User })
-	@Operation(summary = "Retrieve all flights", description = "This operation returns a list of all available flights.", responses = {
+	@Operation(summary = "Retrieve all flights", description = "This operation returns a page of available flights ordered by departure.", responses = {
 			@ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+			@ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
 			@ApiResponse(responseCode = "403", description = "Access denied") })
-	public ResponseEntity<List<Flight>> getAllFlights() {
-		List<Flight> result = flightService.findAllFlights();
+	public ResponseEntity<CursorPage<Flight>> getAllFlights(
+			@Parameter(description = "ETag of a previously retrieved response") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@Parameter(description = "Cursor of the next page as returned by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of flights per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		return flightCollectionVersion.respond(ifNoneMatch, () -> flightService.findAllFlights(cursor, size));
+	}
+
+	@GetMapping("/search")
+	@RolesAllowed({ Roles.Admin, Roles.User })
+	@Operation(summary = "Search flights", description = "Returns the flights of a route departing within the given window, ordered by departure.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+			@ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+			@ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
+			@ApiResponse(responseCode = "403", description = "Access denied") })
+	public ResponseEntity<CursorPage<Flight>> searchFlights(
+			@Parameter(description = "ETag of a previously retrieved response") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@Parameter(description = "Origin of the flight", required = true) @RequestParam @NotBlank String origin,
+			@Parameter(description = "Destination of the flight", required = true) @RequestParam @NotBlank String destination,
+			@Parameter(description = "Earliest departure", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@Parameter(description = "Latest departure", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@Parameter(description = "Cursor of the next page as returned by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of flights per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		return flightCollectionVersion.respond(ifNoneMatch, () -> flightService.searchFlights(origin, destination, from, to, cursor, size));
+	}
+
+	@GetMapping("/changes")
+	@RolesAllowed({ Roles.Admin, Roles.User })
+	@Operation(summary = "Retrieve flight changes", description = "Returns the flights created, updated or deleted since the given cursor, oldest change first. Without a cursor the feed starts with every existing flight.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor"),
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "410", description = "Cursor expired, sync from the beginning") })
+	public ResponseEntity<FlightChangePage> getFlightChanges(
+			@Parameter(description = "Cursor returned by the previous sync") @RequestParam(required = false) String since,
+			@Parameter(description = "Number of changes per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		return ResponseEntity.ok(flightService.findChanges(since, size));
+	}
+
+	@GetMapping("/connections")
+	@RolesAllowed({ Roles.Admin, Roles.User })
+	@Operation(summary = "Find connections", description = "Returns the best itineraries with up to three legs between two places, earliest arrival first.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+			@ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+			@ApiResponse(responseCode = "403", description = "Access denied") })
+	public ResponseEntity<List<Itinerary>> findConnections(
+			@Parameter(description = "Origin of the itinerary", required = true) @RequestParam @NotBlank String origin,
+			@Parameter(description = "Destination of the itinerary", required = true) @RequestParam @NotBlank String destination,
+			@Parameter(description = "Earliest departure of the first leg", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departure) {
+		List<Itinerary> result = flightService.findConnections(origin, destination, departure);
 		return ResponseEntity.ok(result);
 	}
 
@@ -46,7 +104,7 @@ public class FlightController {
 			@ApiResponse(responseCode = "403", description = "Access denied") })
 	public ResponseEntity<Flight> getFlightById(@PathVariable Long id) {
 		Flight result = flightService.findFlightById(id);
-		return ResponseEntity.ok(result);
+		return ResponseEntity.ok().eTag(EntityTags.of(result.getVersion())).body(result);
 	}
 
 	@PostMapping
@@ -68,12 +126,15 @@ public class FlightController {
 			@ApiResponse(responseCode = "200", description = "Flight successfully updated"),
 			@ApiResponse(responseCode = "404", description = "Flight not found"),
 			@ApiResponse(responseCode = "400", description = "Invalid input data"),
-			@ApiResponse(responseCode = "403", description = "Access denied") })
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "409", description = "Concurrently modified"),
+			@ApiResponse(responseCode = "412", description = "If-Match does not match the current version") })
 	public ResponseEntity<Flight> updateFlight(
 			@PathVariable Long id,
+			@Parameter(description = "ETag of the version the update is based on") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 			@Valid @RequestBody @Parameter(description = "Updated flight data", required = true) FlightRequestDTO flight) {
-		Flight savedFlight = flightService.updateFlight(id, flight);
-		return ResponseEntity.ok(savedFlight);
+		Flight savedFlight = flightService.updateFlight(id, flight, EntityTags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(EntityTags.of(savedFlight.getVersion())).body(savedFlight);
 	}
 
 	@DeleteMapping("/{id}")
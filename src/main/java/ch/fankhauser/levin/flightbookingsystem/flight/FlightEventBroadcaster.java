@@ -0,0 +1,113 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import ch.fankhauser.levin.flightbookingsystem.base.AfterCommit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes flight changes to server-sent event subscribers. All subscribers share one sink and one heartbeat timer, and
+ * idle connections hold no thread; events are written with blocking servlet I/O on the application task executor.
+ * Every subscriber has a bounded buffer; when a slow subscriber overflows it, further changes are dropped and the stream ends with a {@code resync} event after the
+ * buffered ones, after which the client catches up through the change feed and subscribes again.
+ */
+@Component
+public class FlightEventBroadcaster implements MeterBinder {
+
+	static final String RESYNC = "resync";
+
+	private static final ServerSentEvent<Object> KEEP_ALIVE = ServerSentEvent.builder().comment("keep-alive").build();
+
+	private final Sinks.Many<Published> sink = Sinks.many().multicast().directBestEffort();
+	private final Sinks.Many<ServerSentEvent<Object>> heartbeats = Sinks.many().multicast().directBestEffort();
+	private final Disposable heartbeatTimer;
+	private final int bufferSize;
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicInteger subscribers = new AtomicInteger();
+	private final AtomicLong resyncs = new AtomicLong();
+
+	public FlightEventBroadcaster(@Value("${flight-booking.events.buffer-size:256}") int bufferSize,
+			@Value("${flight-booking.events.heartbeat:15s}") Duration heartbeat) {
+		this.bufferSize = bufferSize;
+		// A single timer for all subscribers; a subscriber without demand misses a keep-alive rather than delaying others.
+		this.heartbeatTimer = Flux.interval(heartbeat).subscribe(tick -> heartbeats.tryEmitNext(KEEP_ALIVE));
+	}
+
+	/**
+	 * Changes of flights from or to the given places; {@code null} matches any place.
+	 */
+	public Flux<ServerSentEvent<Object>> subscribe(String origin, String destination) {
+		Flux<ServerSentEvent<Object>> changes = sink.asFlux()
+				.filter(published -> published.affects(origin, destination))
+				.map(Published::event);
+		return Flux.merge(changes, heartbeats.asFlux())
+				.onBackpressureBuffer(bufferSize)
+				.onErrorResume(Exceptions::isOverflow, overflow -> {
+					resyncs.incrementAndGet();
+					return Mono.just(ServerSentEvent.builder((Object) "Subscriber fell behind, catch up with GET /api/flight/changes and subscribe again")
+							.event(RESYNC).build());
+				})
+				.doOnSubscribe(subscription -> subscribers.incrementAndGet())
+				.doFinally(signal -> subscribers.decrementAndGet());
+	}
+
+	/**
+	 * Publishes a change to the subscribers of any of the given legs, after the surrounding transaction commits.
+	 */
+	public void publish(FlightChange change, FlightLeg... legs) {
+		AfterCommit.run(() -> emit(change, legs));
+	}
+
+	private void emit(FlightChange change, FlightLeg... legs) {
+		ServerSentEvent<Object> event = ServerSentEvent.builder((Object) change)
+				.id(String.valueOf(sequence.incrementAndGet()))
+				.event(change.type().name().toLowerCase(Locale.ROOT))
+				.build();
+		// The sink rejects concurrent emissions instead of serializing them.
+		synchronized (sink) {
+			sink.tryEmitNext(new Published(event, List.of(legs)));
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		heartbeatTimer.dispose();
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		Gauge.builder("flight.events.subscribers", subscribers, AtomicInteger::get)
+				.description("Open flight event streams")
+				.register(registry);
+		FunctionCounter.builder("flight.events.resyncs", resyncs, AtomicLong::get)
+				.description("Flight event streams ended because the subscriber fell behind")
+				.register(registry);
+	}
+
+	private record Published(
+			ServerSentEvent<Object> event,
+			List<FlightLeg> legs) {
+
+		boolean affects(String origin, String destination) {
+			return legs.stream().anyMatch(leg -> (origin == null || origin.equals(leg.origin()))
+					&& (destination == null || destination.equals(leg.destination())));
+		}
+	}
+}
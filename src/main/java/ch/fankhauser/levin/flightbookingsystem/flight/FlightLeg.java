@@ -0,0 +1,15 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import java.time.LocalDateTime;
+
+public record FlightLeg(
+		Long id,
+		String origin,
+		String destination,
+		LocalDateTime departure,
+		LocalDateTime arrival) {
+
+	public static FlightLeg of(Flight flight) {
+		return new FlightLeg(flight.getId(), flight.getOrigin(), flight.getDestination(), flight.getDeparture(), flight.getArrival());
+	}
+}
@@ -1,9 +1,76 @@
 package ch.fankhauser.levin.flightbookingsystem.flight;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FlightRepository extends JpaRepository<Flight, Long> {
 
+	int STREAM_FETCH_SIZE = 100;
+
+	@Override
+	@EntityGraph(attributePaths = "airplane")
+	Optional<Flight> findById(Long id);
+
+	@EntityGraph(attributePaths = "airplane")
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	List<Flight> findAllByOrderByDepartureAscIdAsc(Limit limit);
+
+	@EntityGraph(attributePaths = "airplane")
+	List<Flight> findAllByAirplaneId(Long airplaneId);
+
+	@Query("SELECT new ch.fankhauser.levin.flightbookingsystem.flight.FlightLeg(f.id, f.origin, f.destination, f.departure, f.arrival) FROM Flight f")
+	List<FlightLeg> findAllLegs();
+
+	@EntityGraph(attributePaths = "airplane")
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query("SELECT f FROM Flight f WHERE f.departure > :departure OR (f.departure = :departure AND f.id > :id) ORDER BY f.departure, f.id")
+	List<Flight> findAllAfter(LocalDateTime departure, Long id, Limit limit);
+
+	@EntityGraph(attributePaths = "airplane")
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	List<Flight> findAllByOriginAndDestinationAndDepartureBetweenOrderByDepartureAscIdAsc(String origin, String destination, LocalDateTime from, LocalDateTime to, Limit limit);
+
+	@EntityGraph(attributePaths = "airplane")
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query("SELECT f FROM Flight f WHERE f.origin = :origin AND f.destination = :destination AND f.departure <= :to "
+			+ "AND (f.departure > :departure OR (f.departure = :departure AND f.id > :id)) ORDER BY f.departure, f.id")
+	List<Flight> searchAfter(String origin, String destination, LocalDateTime to, LocalDateTime departure, Long id, Limit limit);
+
+	@EntityGraph(attributePaths = "airplane")
+	@Query("SELECT f FROM Flight f WHERE f.updatedAt < :before "
+			+ "AND (f.updatedAt > :updatedAt OR (f.updatedAt = :updatedAt AND f.id > :id)) ORDER BY f.updatedAt, f.id")
+	List<Flight> findChangedAfter(LocalDateTime updatedAt, Long id, LocalDateTime before, Limit limit);
+
+	@QueryHints({
+			@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT f FROM Flight f JOIN FETCH f.airplane WHERE f.origin = :origin AND f.destination = :destination "
+			+ "AND f.departure BETWEEN :from AND :to ORDER BY f.departure, f.id")
+	Stream<Flight> streamByRoute(String origin, String destination, LocalDateTime from, LocalDateTime to);
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+	@Query("SELECT f.airplane.seatCapacity FROM Flight f WHERE f.id = :flightId")
+	Optional<Integer> findSeatCapacityById(Long flightId);
+
+	/**
+	 * Marks the flights of an airplane as changed, since they embed the airplane.
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE Flight f SET f.updatedAt = :updatedAt, f.version = f.version + 1 WHERE f.airplane.id = :airplaneId")
+	int touchAllByAirplaneId(Long airplaneId, LocalDateTime updatedAt);
 }
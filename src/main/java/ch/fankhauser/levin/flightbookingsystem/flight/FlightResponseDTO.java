@@ -0,0 +1,25 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneResponseDTO;
+
+import java.time.LocalDateTime;
+
+public record FlightResponseDTO(
+		Long id,
+		AirplaneResponseDTO airplane,
+		String origin,
+		String destination,
+		LocalDateTime departure,
+		LocalDateTime arrival,
+		String createdBy,
+		long version,
+		LocalDateTime updatedAt) {
+
+	public static FlightResponseDTO of(Flight flight) {
+		if (flight == null) {
+			return null;
+		}
+		return new FlightResponseDTO(flight.getId(), AirplaneResponseDTO.of(flight.getAirplane()), flight.getOrigin(), flight.getDestination(),
+				flight.getDeparture(), flight.getArrival(), flight.getCreatedBy(), flight.getVersion(), flight.getUpdatedAt());
+	}
+}
@@ -1,22 +1,71 @@
 package ch.fankhauser.levin.flightbookingsystem.flight;
 
+import ch.fankhauser.levin.flightbookingsystem.base.AfterCommit;
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.base.EntityTags;
+import ch.fankhauser.levin.flightbookingsystem.base.InvalidRequestException;
+import ch.fankhauser.levin.flightbookingsystem.base.OptimisticRetry;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class FlightService {
 
 	private final FlightRepository flightRepository;
+	private final RouteGraph routeGraph;
+	private final BookingPageCache bookingPageCache;
+	private final SeatInventory seatInventory;
+	private final FlightCollectionVersion flightCollectionVersion;
+	private final FlightChangeFeed flightChangeFeed;
+	private final FlightEventBroadcaster flightEventBroadcaster;
 
-	public FlightService(FlightRepository flightRepository) {
+	public FlightService(FlightRepository flightRepository, RouteGraph routeGraph, BookingPageCache bookingPageCache, SeatInventory seatInventory,
+			FlightCollectionVersion flightCollectionVersion, FlightChangeFeed flightChangeFeed, FlightEventBroadcaster flightEventBroadcaster) {
 		this.flightRepository = flightRepository;
+		this.routeGraph = routeGraph;
+		this.bookingPageCache = bookingPageCache;
+		this.seatInventory = seatInventory;
+		this.flightCollectionVersion = flightCollectionVersion;
+		this.flightChangeFeed = flightChangeFeed;
+		this.flightEventBroadcaster = flightEventBroadcaster;
 	}
 
-	public List<Flight> findAllFlights() {
-		return flightRepository.findAll();
+	public CursorPage<Flight> findAllFlights(String cursor, Integer size) {
+		int limit = CursorPage.boundedSize(size);
+		Cursor.Position position = Cursor.decodePosition(cursor);
+		List<Flight> rows = position == null
+				? flightRepository.findAllByOrderByDepartureAscIdAsc(Limit.of(limit + 1))
+				: flightRepository.findAllAfter(position.departure(), position.id(), Limit.of(limit + 1));
+		return CursorPage.of(rows, limit, flight -> Cursor.encode(flight.getDeparture(), flight.getId()));
+	}
+
+	public CursorPage<Flight> searchFlights(String origin, String destination, LocalDateTime from, LocalDateTime to, String cursor, Integer size) {
+		if (from.isAfter(to)) {
+			throw new InvalidRequestException("Search window start must not be after its end");
+		}
+		int limit = CursorPage.boundedSize(size);
+		Cursor.Position position = Cursor.decodePosition(cursor);
+		List<Flight> rows = position == null
+				? flightRepository.findAllByOriginAndDestinationAndDepartureBetweenOrderByDepartureAscIdAsc(origin, destination, from, to, Limit.of(limit + 1))
+				: flightRepository.searchAfter(origin, destination, to, position.departure(), position.id(), Limit.of(limit + 1));
+		return CursorPage.of(rows, limit, flight -> Cursor.encode(flight.getDeparture(), flight.getId()));
+	}
+
+	public FlightChangePage findChanges(String since, Integer size) {
+		return flightChangeFeed.findChanges(since, size);
+	}
+
+	public List<Itinerary> findConnections(String origin, String destination, LocalDateTime earliestDeparture) {
+		return routeGraph.findConnections(origin, destination, earliestDeparture);
 	}
 
 	public Flight findFlightById(Long id) {
@@ -24,25 +73,56 @@ public class FlightService {
 	}
 
 	public Flight createFlight(FlightRequestDTO flight) {
-		return flightRepository.save(mapDtoToEntity(flight));
+		Flight savedFlight = flightRepository.save(mapDtoToEntity(flight));
+		FlightLeg leg = FlightLeg.of(savedFlight);
+		routeGraph.put(leg);
+		flightCollectionVersion.bump();
+		flightEventBroadcaster.publish(FlightChange.of(savedFlight), leg);
+		return savedFlight;
 	}
 
 	public Flight updateFlight(Long id, FlightRequestDTO flight) {
-		return flightRepository.findById(id).map(existingFlight -> {
+		return updateFlight(id, flight, null);
+	}
+
+	public Flight updateFlight(Long id, FlightRequestDTO flight, Long expectedVersion) {
+		return OptimisticRetry.updating(expectedVersion, () -> {
+			Flight existingFlight = findFlightById(id);
+			EntityTags.requireMatch(expectedVersion, existingFlight.getVersion());
+			FlightLeg previousLeg = FlightLeg.of(existingFlight);
 			existingFlight.setAirplane(flight.airplane());
 			existingFlight.setOrigin(flight.origin());
 			existingFlight.setDestination(flight.destination());
 			existingFlight.setDeparture(flight.departure());
 			existingFlight.setArrival(flight.arrival());
-			return flightRepository.save(existingFlight);
-		}).orElseGet(() -> createFlight(flight));
+			Flight savedFlight = flightRepository.save(existingFlight);
+			FlightLeg leg = FlightLeg.of(savedFlight);
+			AfterCommit.run(() -> {
+				routeGraph.put(leg);
+				// The flight may have moved to another airplane.
+				seatInventory.refreshCapacity(id);
+				bookingPageCache.evictAll();
+				flightCollectionVersion.bump();
+			});
+			// Subscribers of the previous route learn that the flight left it.
+			flightEventBroadcaster.publish(FlightChange.of(savedFlight), previousLeg, leg);
+			return savedFlight;
+		});
 	}
 
+	@Transactional
 	public void deleteFlight(Long id) {
-		if (!flightRepository.existsById(id)) {
-			throw new EntityNotFoundException("Flight not found with id " + id);
-		}
-		flightRepository.deleteById(id);
+		Flight flight = flightRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Flight not found with id " + id));
+		flightRepository.delete(flight);
+		// Fails on existing bookings before the tombstone is written.
+		flightRepository.flush();
+		FlightTombstone tombstone = flightChangeFeed.recordDeletion(id);
+		AfterCommit.run(() -> {
+			routeGraph.remove(id);
+			seatInventory.evict(id);
+			flightCollectionVersion.bump();
+		});
+		flightEventBroadcaster.publish(FlightChange.of(tombstone), FlightLeg.of(flight));
 	}
 
 	private Flight mapDtoToEntity(FlightRequestDTO flight) {
@@ -0,0 +1,68 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import ch.fankhauser.levin.flightbookingsystem.security.Roles;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/flight/stream")
+@SecurityRequirement(name = "bearerAuth")
+@Validated
+@Tag(name = "Flight streams", description = "Streamed flight search and live flight changes for users and admins")
+public class FlightStreamController {
+
+	private final FlightStreamService flightStreamService;
+	private final FlightEventBroadcaster flightEventBroadcaster;
+
+	public FlightStreamController(FlightStreamService flightStreamService, FlightEventBroadcaster flightEventBroadcaster) {
+		this.flightStreamService = flightStreamService;
+		this.flightEventBroadcaster = flightEventBroadcaster;
+	}
+
+	@GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@RolesAllowed({ Roles.Admin, Roles.User })
+	@Operation(summary = "Stream flight search", description = "Streams all flights of a route departing within the given window as newline-delimited JSON, ordered by departure. "
+			+ "Flights are read from the database in batches while they are written.", responses = {
+			@ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+			@ApiResponse(responseCode = "400", description = "Invalid search parameters"),
+			@ApiResponse(responseCode = "403", description = "Access denied") })
+	public ResponseEntity<StreamingResponseBody> streamFlights(
+			@Parameter(description = "Origin of the flight", required = true) @RequestParam @NotBlank String origin,
+			@Parameter(description = "Destination of the flight", required = true) @RequestParam @NotBlank String destination,
+			@Parameter(description = "Earliest departure", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@Parameter(description = "Latest departure", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(flightStreamService.streamFlights(origin, destination, from, to));
+	}
+
+	@GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@RolesAllowed({ Roles.Admin, Roles.User })
+	@Operation(summary = "Subscribe to flight changes", description = "Pushes created, updated and deleted flights of the given places as server-sent events, in the format of the change feed. "
+			+ "A subscriber that falls behind receives a resync event and the stream ends; it then catches up with the change feed and subscribes again.", responses = {
+			@ApiResponse(responseCode = "200", description = "Subscribed"),
+			@ApiResponse(responseCode = "403", description = "Access denied") })
+	public Flux<ServerSentEvent<Object>> streamFlightEvents(
+			@Parameter(description = "Only flights from this place") @RequestParam(required = false) String origin,
+			@Parameter(description = "Only flights to this place") @RequestParam(required = false) String destination) {
+		return flightEventBroadcaster.subscribe(origin, destination);
+	}
+}
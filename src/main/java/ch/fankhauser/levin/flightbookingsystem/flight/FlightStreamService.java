@@ -0,0 +1,76 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import ch.fankhauser.levin.flightbookingsystem.base.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class FlightStreamService {
+
+	private final FlightRepository flightRepository;
+	private final EntityManager entityManager;
+	private final ObjectWriter ndjsonWriter;
+	private final TransactionTemplate readOnlyTransaction;
+
+	public FlightStreamService(FlightRepository flightRepository, EntityManager entityManager, ObjectMapper objectMapper,
+			PlatformTransactionManager transactionManager) {
+		this.flightRepository = flightRepository;
+		this.entityManager = entityManager;
+		this.ndjsonWriter = objectMapper.writerFor(Flight.class)
+				.withRootValueSeparator("\n")
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	/**
+	 * Checks the search window before the response starts, so that an invalid one is still answered with an error status.
+	 */
+	public StreamingResponseBody streamFlights(String origin, String destination, LocalDateTime from, LocalDateTime to) {
+		if (from.isAfter(to)) {
+			throw new InvalidRequestException("Search window start must not be after its end");
+		}
+		return out -> {
+			try {
+				readOnlyTransaction.executeWithoutResult(status -> writeAll(origin, destination, from, to, out));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+	}
+
+	private void writeAll(String origin, String destination, LocalDateTime from, LocalDateTime to, OutputStream out) {
+		try (Stream<Flight> flights = flightRepository.streamByRoute(origin, destination, from, to);
+				SequenceWriter rows = ndjsonWriter.writeValues(out)) {
+			Iterator<Flight> iterator = flights.iterator();
+			int written = 0;
+			while (iterator.hasNext()) {
+				rows.write(iterator.next());
+				if (++written % FlightRepository.STREAM_FETCH_SIZE == 0) {
+					rows.flush();
+					entityManager.clear();
+				}
+			}
+			if (written > 0) {
+				rows.flush();
+				out.write('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+public class FlightTombstone {
+
+	@Id
+	private Long flightId;
+
+	@Column(nullable = false)
+	private LocalDateTime deletedAt;
+}
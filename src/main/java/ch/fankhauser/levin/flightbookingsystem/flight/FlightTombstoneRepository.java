@@ -0,0 +1,24 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FlightTombstoneRepository extends JpaRepository<FlightTombstone, Long> {
+
+	@Query("SELECT t FROM FlightTombstone t WHERE t.deletedAt < :before "
+			+ "AND (t.deletedAt > :deletedAt OR (t.deletedAt = :deletedAt AND t.flightId > :flightId)) ORDER BY t.deletedAt, t.flightId")
+	List<FlightTombstone> findDeletedAfter(LocalDateTime deletedAt, Long flightId, LocalDateTime before, Limit limit);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM FlightTombstone t WHERE t.deletedAt < :deletedAt")
+	int deleteAllDeletedBefore(LocalDateTime deletedAt);
+}
@@ -0,0 +1,14 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record Itinerary(
+		List<FlightLeg> legs,
+		LocalDateTime departure,
+		LocalDateTime arrival) {
+
+	public static Itinerary of(List<FlightLeg> legs) {
+		return new Itinerary(List.copyOf(legs), legs.get(0).departure(), legs.get(legs.size() - 1).arrival());
+	}
+}
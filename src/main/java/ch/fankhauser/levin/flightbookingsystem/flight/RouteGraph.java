@@ -0,0 +1,193 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Departures per airport, ordered by time, for searching itineraries of up to three legs in memory. Flights that have
+ * departed are not loaded and are evicted periodically.
+ */
+@Component
+public class RouteGraph {
+
+	private static final int MAX_LEGS = 3;
+	private static final Comparator<FlightLeg> BY_DEPARTURE = Comparator.comparing(FlightLeg::departure).thenComparing(FlightLeg::id);
+	// Extending an itinerary only makes it arrive later, so complete itineraries leave the queue in this order too.
+	private static final Comparator<Step> BEST_FIRST = Comparator.comparing((Step step) -> step.leg.arrival())
+			.thenComparingInt(step -> step.legs)
+			.thenComparing(step -> step.departure, Comparator.reverseOrder());
+
+	private final FlightRepository flightRepository;
+	private final SeatInventory seatInventory;
+	private final Duration minConnectionTime;
+	private final Duration maxConnectionTime;
+	private final Duration searchWindow;
+	private final int maxResults;
+	private final int maxExpansions;
+	private final Map<String, NavigableSet<FlightLeg>> departuresByOrigin = new ConcurrentHashMap<>();
+	private final Map<Long, FlightLeg> legsById = new ConcurrentHashMap<>();
+
+	public RouteGraph(FlightRepository flightRepository, SeatInventory seatInventory,
+			@Value("${flight-booking.connections.min-connection-time:45m}") Duration minConnectionTime,
+			@Value("${flight-booking.connections.max-connection-time:12h}") Duration maxConnectionTime,
+			@Value("${flight-booking.connections.search-window:24h}") Duration searchWindow,
+			@Value("${flight-booking.connections.max-results:10}") int maxResults,
+			@Value("${flight-booking.connections.max-expansions:20000}") int maxExpansions) {
+		this.flightRepository = flightRepository;
+		this.seatInventory = seatInventory;
+		this.minConnectionTime = minConnectionTime;
+		this.maxConnectionTime = maxConnectionTime;
+		this.searchWindow = searchWindow;
+		this.maxResults = maxResults;
+		this.maxExpansions = maxExpansions;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		LocalDateTime now = LocalDateTime.now();
+		flightRepository.findAllLegs().stream()
+				.filter(leg -> !leg.departure().isBefore(now))
+				.forEach(this::put);
+	}
+
+	public void put(FlightLeg leg) {
+		legsById.compute(leg.id(), (id, previous) -> {
+			if (previous != null) {
+				unlink(previous);
+			}
+			departuresByOrigin.computeIfAbsent(leg.origin(), origin -> new ConcurrentSkipListSet<>(BY_DEPARTURE)).add(leg);
+			return leg;
+		});
+	}
+
+	public void remove(Long id) {
+		legsById.computeIfPresent(id, (key, previous) -> {
+			unlink(previous);
+			return null;
+		});
+	}
+
+	/**
+	 * Searches partial itineraries in the order of their arrival, so complete ones are found earliest arrival first. The
+	 * search stops after {@code maxResults} itineraries or {@code maxExpansions} expanded legs, whichever comes first;
+	 * when the budget runs out, the itineraries found so far are still the best ones, but fewer may be returned.
+	 */
+	public List<Itinerary> findConnections(String origin, String destination, LocalDateTime earliestDeparture) {
+		PriorityQueue<Step> open = new PriorityQueue<>(BEST_FIRST);
+		for (FlightLeg first : departuresBetween(origin, earliestDeparture, earliestDeparture.plus(searchWindow))) {
+			open.add(new Step(first, null));
+		}
+		List<Itinerary> found = new ArrayList<>();
+		int expansions = 0;
+		while (!open.isEmpty() && found.size() < maxResults && expansions < maxExpansions) {
+			Step step = open.poll();
+			expansions++;
+			if (step.leg.destination().equals(destination)) {
+				found.add(step.toItinerary());
+			} else if (step.legs < MAX_LEGS) {
+				LocalDateTime arrival = step.leg.arrival();
+				for (FlightLeg next : departuresBetween(step.leg.destination(), arrival.plus(minConnectionTime), arrival.plus(maxConnectionTime))) {
+					if (!step.visits(next.destination())) {
+						open.add(new Step(next, step));
+					}
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Drops flights that have departed, which no search can return any more, together with their seat counters.
+	 */
+	@Scheduled(initialDelayString = "${flight-booking.connections.eviction-interval:10m}",
+			fixedDelayString = "${flight-booking.connections.eviction-interval:10m}")
+	public void evictDeparted() {
+		evictDepartedBefore(LocalDateTime.now());
+	}
+
+	void evictDepartedBefore(LocalDateTime time) {
+		for (NavigableSet<FlightLeg> departures : departuresByOrigin.values()) {
+			for (FlightLeg leg : departures.headSet(probe(time, Long.MIN_VALUE))) {
+				// A concurrent update may have moved the flight to a later departure, which stays.
+				legsById.computeIfPresent(leg.id(), (id, current) -> {
+					if (!current.equals(leg)) {
+						return current;
+					}
+					unlink(current);
+					seatInventory.evict(id);
+					return null;
+				});
+			}
+		}
+	}
+
+	private NavigableSet<FlightLeg> departuresBetween(String origin, LocalDateTime from, LocalDateTime to) {
+		NavigableSet<FlightLeg> departures = departuresByOrigin.get(origin);
+		if (departures == null || from.isAfter(to)) {
+			return Collections.emptyNavigableSet();
+		}
+		return departures.subSet(probe(from, Long.MIN_VALUE), true, probe(to, Long.MAX_VALUE), true);
+	}
+
+	private static FlightLeg probe(LocalDateTime departure, long id) {
+		return new FlightLeg(id, null, null, departure, null);
+	}
+
+	private void unlink(FlightLeg leg) {
+		NavigableSet<FlightLeg> departures = departuresByOrigin.get(leg.origin());
+		if (departures != null) {
+			departures.remove(leg);
+		}
+	}
+
+	/**
+	 * The last leg of a partial itinerary, linked to the legs before it.
+	 */
+	private static final class Step {
+
+		private final FlightLeg leg;
+		private final Step previous;
+		private final int legs;
+		private final LocalDateTime departure;
+
+		private Step(FlightLeg leg, Step previous) {
+			this.leg = leg;
+			this.previous = previous;
+			this.legs = previous == null ? 1 : previous.legs + 1;
+			this.departure = previous == null ? leg.departure() : previous.departure;
+		}
+
+		private boolean visits(String airport) {
+			for (Step step = this; step != null; step = step.previous) {
+				if (step.leg.origin().equals(airport) || step.leg.destination().equals(airport)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private Itinerary toItinerary() {
+			FlightLeg[] path = new FlightLeg[legs];
+			for (Step step = this; step != null; step = step.previous) {
+				path[step.legs - 1] = step.leg;
+			}
+			return Itinerary.of(List.of(path));
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package ch.fankhauser.levin.flightbookingsystem.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Replays the stored response of a POST that is retried with the same {@code Idempotency-Key} by the same user instead
+ * of executing it again. Only successful responses are stored, so failed requests can be retried with the same key.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+	public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private final IdempotencyStore idempotencyStore;
+	private final Set<String> paths;
+
+	public IdempotencyFilter(IdempotencyStore idempotencyStore,
+			@Value("${flight-booking.idempotency.paths:/api/booking,/api/passenger}") Set<String> paths) {
+		this.idempotencyStore = idempotencyStore;
+		this.paths = paths;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+		return !HttpMethod.POST.matches(request.getMethod())
+				|| request.getHeader(IDEMPOTENCY_KEY) == null
+				|| !paths.contains(request.getRequestURI());
+	}
+
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+			throws ServletException, IOException {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || !authentication.isAuthenticated()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		String key = request.getHeader(IDEMPOTENCY_KEY);
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			reject(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+			return;
+		}
+		CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+		String id = sha256(authentication.getName() + "\n" + key);
+		String requestHash = sha256(request.getMethod() + " " + request.getRequestURI() + "\n", cachedRequest.body);
+
+		Optional<IdempotentResponse> stored = idempotencyStore.find(id);
+		if (stored.isPresent()) {
+			replay(stored.get(), requestHash, response);
+			return;
+		}
+		if (!idempotencyStore.begin(id)) {
+			reject(response, HttpStatus.CONFLICT, "A request with this " + IDEMPOTENCY_KEY + " is still in progress");
+			return;
+		}
+		try {
+			// A request completed between the lookup and begin() must not run again.
+			stored = idempotencyStore.find(id);
+			if (stored.isPresent()) {
+				replay(stored.get(), requestHash, response);
+				return;
+			}
+			ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+			filterChain.doFilter(cachedRequest, cachingResponse);
+			if (HttpStatus.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+				IdempotentResponse idempotentResponse = new IdempotentResponse();
+				idempotentResponse.setId(id);
+				idempotentResponse.setRequestHash(requestHash);
+				idempotentResponse.setStatus(cachingResponse.getStatus());
+				idempotentResponse.setContentType(cachingResponse.getContentType());
+				idempotentResponse.setBody(cachingResponse.getContentAsByteArray());
+				idempotentResponse.setCreatedAt(Instant.now());
+				idempotencyStore.save(idempotentResponse);
+			}
+			cachingResponse.copyBodyToResponse();
+		} finally {
+			idempotencyStore.end(id);
+		}
+	}
+
+	private void replay(IdempotentResponse stored, String requestHash, HttpServletResponse response) throws IOException {
+		if (!stored.getRequestHash().equals(requestHash)) {
+			reject(response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY + " was already used for a different request");
+			return;
+		}
+		response.setStatus(stored.getStatus());
+		if (stored.getContentType() != null) {
+			response.setContentType(stored.getContentType());
+		}
+		response.setHeader(IDEMPOTENT_REPLAYED, "true");
+		response.setContentLength(stored.getBody().length);
+		response.getOutputStream().write(stored.getBody());
+	}
+
+	private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+		response.setStatus(status.value());
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.getWriter().write(message);
+	}
+
+	private static String sha256(String prefix, byte... bytes) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(prefix.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest.digest(bytes));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		CachedBodyRequest(HttpServletRequest request) throws IOException {
+			super(request);
+			this.body = request.getInputStream().readAllBytes();
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream input = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+
+				@Override
+				public boolean isFinished() {
+					return input.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				/**
+				 * The body is already in memory, so the listener is told right away that all of it is available.
+				 */
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					if (!isAsyncStarted()) {
+						throw new IllegalStateException("Non-blocking reads require an asynchronous request");
+					}
+					try {
+						readListener.onDataAvailable();
+						if (isFinished()) {
+							readListener.onAllDataRead();
+						}
+					} catch (IOException e) {
+						readListener.onError(e);
+					}
+				}
+
+				@Override
+				public int read() {
+					return input.read();
+				}
+
+				@Override
+				public int read(@NonNull byte[] buffer, int offset, int length) {
+					return input.read(buffer, offset, length);
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package ch.fankhauser.levin.flightbookingsystem.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stored responses of idempotent requests. Recent responses are served from a bounded in-memory cache, older ones from
+ * the database until they expire and are purged in the background.
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+	private final IdempotentResponseRepository repository;
+	private final Duration ttl;
+	private final Cache<String, IdempotentResponse> recentResponses;
+	private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+	public IdempotencyStore(IdempotentResponseRepository repository,
+			@Value("${flight-booking.idempotency.maximum-size:10000}") long maximumSize,
+			@Value("${flight-booking.idempotency.ttl:24h}") Duration ttl) {
+		this.repository = repository;
+		this.ttl = ttl;
+		this.recentResponses = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+	}
+
+	public Optional<IdempotentResponse> find(String id) {
+		IdempotentResponse response = recentResponses.getIfPresent(id);
+		if (response != null) {
+			return Optional.of(response);
+		}
+		return repository.findById(id)
+				.filter(stored -> stored.getCreatedAt().isAfter(Instant.now().minus(ttl)))
+				.map(stored -> {
+					recentResponses.put(id, stored);
+					return stored;
+				});
+	}
+
+	/**
+	 * Marks a request as running. Returns {@code false} if a request with the same id is already running.
+	 */
+	public boolean begin(String id) {
+		return inFlight.add(id);
+	}
+
+	public void end(String id) {
+		inFlight.remove(id);
+	}
+
+	public void save(IdempotentResponse response) {
+		repository.save(response);
+		recentResponses.put(response.getId(), response);
+	}
+
+	@Scheduled(initialDelayString = "${flight-booking.idempotency.purge-interval:10m}",
+			fixedDelayString = "${flight-booking.idempotency.purge-interval:10m}")
+	void purge() {
+		try {
+			repository.deleteAllCreatedBefore(Instant.now().minus(ttl));
+		} catch (RuntimeException e) {
+			log.warn("Could not purge expired idempotent responses", e);
+		}
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, recentResponses, "idempotent-responses");
+	}
+}
@@ -0,0 +1,32 @@
+package ch.fankhauser.levin.flightbookingsystem.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Entity
+public class IdempotentResponse {
+
+	@Id
+	@Column(length = 64)
+	private String id;
+
+	@Column(length = 64, nullable = false)
+	private String requestHash;
+
+	@Column(nullable = false)
+	private int status;
+
+	@Column(length = 255)
+	private String contentType;
+
+	@Column(nullable = false)
+	private byte[] body;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+}
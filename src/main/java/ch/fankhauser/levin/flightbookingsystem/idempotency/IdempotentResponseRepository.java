@@ -0,0 +1,16 @@
+package ch.fankhauser.levin.flightbookingsystem.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotentResponseRepository extends JpaRepository<IdempotentResponse, String> {
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM IdempotentResponse r WHERE r.createdAt < :createdAt")
+	int deleteAllCreatedBefore(Instant createdAt);
+}
@@ -1,22 +1,28 @@
 package ch.fankhauser.levin.flightbookingsystem.passenger;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 
-@Data
+@Getter
+@Setter
 @Entity
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class Passenger {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passenger_seq")
+	@SequenceGenerator(name = "passenger_seq", sequenceName = "passenger_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(length = 100, nullable = false)
@@ -44,4 +50,16 @@ public class Passenger {
 	@NotEmpty
 	private String createdBy;
 
+	@Override
+	public boolean equals(Object other) {
+		if (this == other) {
+			return true;
+		}
+		return other instanceof Passenger that && id != null && id.equals(that.getId());
+	}
+
+	@Override
+	public int hashCode() {
+		return Passenger.class.hashCode();
+	}
 }
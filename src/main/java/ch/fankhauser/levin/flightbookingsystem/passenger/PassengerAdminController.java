@@ -1,5 +1,6 @@
 package ch.fankhauser.levin.flightbookingsystem.passenger;
 
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
 import ch.fankhauser.levin.flightbookingsystem.security.Roles;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,12 +9,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/admin/passenger")
 @SecurityRequirement(name = "bearerAuth")
@@ -29,11 +30,13 @@ public class PassengerAdminController {
 
 	@GetMapping
 	@RolesAllowed(Roles.Admin)
-	@Operation(summary = "Retrieve all passengers", description = "Returns a list of all registered passengers.", responses = {
+	@Operation(summary = "Retrieve all passengers", description = "Returns a page of registered passengers ordered by ID.", responses = {
 			@ApiResponse(responseCode = "200", description = "Passengers successfully retrieved"),
 			@ApiResponse(responseCode = "403", description = "Access denied") })
-	public ResponseEntity<List<Passenger>> getAllPassengers() {
-		List<Passenger> result = passengerAdminService.findAllPassengers();
+	public ResponseEntity<CursorPage<Passenger>> getAllPassengers(
+			@Parameter(description = "Cursor of the next page as returned by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of passengers per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		CursorPage<Passenger> result = passengerAdminService.findAllPassengers(cursor, size);
 		return ResponseEntity.ok(result);
 	}
 
@@ -1,6 +1,10 @@
 package ch.fankhauser.levin.flightbookingsystem.passenger;
 
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -9,13 +13,19 @@ import java.util.List;
 public class PassengerAdminService {
 
 	private final PassengerRepository passengerRepository;
+	private final PassengerPageCache passengerPageCache;
+	private final BookingPageCache bookingPageCache;
 
-	public PassengerAdminService(PassengerRepository passengerRepository) {
+	public PassengerAdminService(PassengerRepository passengerRepository, PassengerPageCache passengerPageCache, BookingPageCache bookingPageCache) {
 		this.passengerRepository = passengerRepository;
+		this.passengerPageCache = passengerPageCache;
+		this.bookingPageCache = bookingPageCache;
 	}
 
-	public List<Passenger> findAllPassengers() {
-		return passengerRepository.findAll();
+	public CursorPage<Passenger> findAllPassengers(String cursor, Integer size) {
+		int limit = CursorPage.boundedSize(size);
+		List<Passenger> rows = passengerRepository.findAllByIdGreaterThanOrderByIdAsc(Cursor.decodeId(cursor), Limit.of(limit + 1));
+		return CursorPage.of(rows, limit, passenger -> Cursor.encode(passenger.getId()));
 	}
 
 	public Passenger findPassengerById(Long id) {
@@ -23,25 +33,32 @@ public class PassengerAdminService {
 	}
 
 	public Passenger createPassenger(PassengerAdminRequestDTO passenger) {
-		return passengerRepository.save(mapDtoToEntity(passenger));
+		Passenger savedPassenger = passengerRepository.save(mapDtoToEntity(passenger));
+		passengerPageCache.evict(savedPassenger.getCreatedBy());
+		return savedPassenger;
 	}
 
 	public Passenger updatePassenger(Long id, PassengerAdminRequestDTO passenger) {
 		return passengerRepository.findById(id).map(existingPassenger -> {
+			String previousCreatedBy = existingPassenger.getCreatedBy();
 			existingPassenger.setLastname(passenger.lastname());
 			existingPassenger.setFirstname(passenger.firstname());
 			existingPassenger.setAge(passenger.age());
 			existingPassenger.setNationality(passenger.nationality());
 			existingPassenger.setCreatedBy(passenger.createdBy());
-			return passengerRepository.save(existingPassenger);
+			Passenger savedPassenger = passengerRepository.save(existingPassenger);
+			passengerPageCache.evict(previousCreatedBy);
+			passengerPageCache.evict(savedPassenger.getCreatedBy());
+			bookingPageCache.evictAll();
+			return savedPassenger;
 		}).orElseGet(() -> createPassenger(passenger));
 	}
 
 	public void deletePassenger(Long id) {
-		if (!passengerRepository.existsById(id)) {
-			throw new EntityNotFoundException("Airplane not found with id " + id);
-		}
-		passengerRepository.deleteById(id);
+		Passenger existingPassenger = passengerRepository.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Airplane not found with id " + id));
+		passengerRepository.delete(existingPassenger);
+		passengerPageCache.evict(existingPassenger.getCreatedBy());
 	}
 
 	private Passenger mapDtoToEntity(PassengerAdminRequestDTO passenger) {
@@ -0,0 +1,16 @@
+package ch.fankhauser.levin.flightbookingsystem.passenger;
+
+import ch.fankhauser.levin.flightbookingsystem.base.UserPageCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class PassengerPageCache extends UserPageCache<PassengerResponseDTO> {
+
+	public PassengerPageCache(@Value("${flight-booking.user-cache.maximum-users:10000}") long maximumUsers,
+			@Value("${flight-booking.user-cache.ttl:5m}") Duration ttl) {
+		super("passenger-pages", maximumUsers, ttl);
+	}
+}
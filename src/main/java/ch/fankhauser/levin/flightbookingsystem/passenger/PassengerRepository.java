@@ -1,5 +1,6 @@
 package ch.fankhauser.levin.flightbookingsystem.passenger;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,5 +12,9 @@ public interface PassengerRepository extends JpaRepository<Passenger, Long> {
 
 	List<Passenger> findAllByCreatedBy(String createdBy);
 
+	List<Passenger> findAllByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	List<Passenger> findAllByCreatedByAndIdGreaterThanOrderByIdAsc(String createdBy, Long id, Limit limit);
+
 	Optional<Passenger> findByIdAndCreatedBy(Long id, String createdBy);
 }
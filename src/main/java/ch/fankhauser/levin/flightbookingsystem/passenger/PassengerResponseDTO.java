@@ -0,0 +1,15 @@
+package ch.fankhauser.levin.flightbookingsystem.passenger;
+
+public record PassengerResponseDTO(
+		Long id,
+		String lastname,
+		String firstname,
+		int age,
+		String nationality,
+		String createdBy) {
+
+	public static PassengerResponseDTO of(Passenger passenger) {
+		return new PassengerResponseDTO(passenger.getId(), passenger.getLastname(), passenger.getFirstname(), passenger.getAge(),
+				passenger.getNationality(), passenger.getCreatedBy());
+	}
+}
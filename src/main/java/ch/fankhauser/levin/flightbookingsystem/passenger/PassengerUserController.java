@@ -1,19 +1,22 @@
 package ch.fankhauser.levin.flightbookingsystem.passenger;
 
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.idempotency.IdempotencyFilter;
 import ch.fankhauser.levin.flightbookingsystem.security.Roles;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/passenger")
 @SecurityRequirement(name = "bearerAuth")
@@ -29,11 +32,13 @@ public class PassengerUserController {
 
 	@GetMapping
 	@RolesAllowed(Roles.User)
-	@Operation(summary = "Retrieve all own passengers", description = "Returns all passengers associated with the currently logged-in user.", responses = {
+	@Operation(summary = "Retrieve all own passengers", description = "Returns a page of passengers associated with the currently logged-in user.", responses = {
 			@ApiResponse(responseCode = "200", description = "Passengers successfully retrieved"),
 			@ApiResponse(responseCode = "403", description = "Access denied") })
-	public ResponseEntity<List<Passenger>> getAllPassengers() {
-		List<Passenger> result = passengerUserService.findAllPassengers();
+	public ResponseEntity<CursorPage<PassengerResponseDTO>> getAllPassengers(
+			@Parameter(description = "Cursor of the next page as returned by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of passengers per page") @RequestParam(required = false) @Min(1) @Max(CursorPage.MAX_SIZE) Integer size) {
+		CursorPage<PassengerResponseDTO> result = passengerUserService.findAllPassengers(cursor, size);
 		return ResponseEntity.ok(result);
 	}
 
@@ -51,10 +56,13 @@ public class PassengerUserController {
 
 	@PostMapping
 	@RolesAllowed(Roles.User)
-	@Operation(summary = "Create a new passenger", description = "Creates a new passenger associated with the currently logged-in user.", responses = {
+	@Operation(summary = "Create a new passenger", description = "Creates a new passenger associated with the currently logged-in user.", parameters = {
+			@Parameter(in = ParameterIn.HEADER, name = IdempotencyFilter.IDEMPOTENCY_KEY, description = "Unique key of this request; retries with the same key return the first response") }, responses = {
 			@ApiResponse(responseCode = "200", description = "Passenger successfully created"),
 			@ApiResponse(responseCode = "400", description = "Invalid input data"),
-			@ApiResponse(responseCode = "403", description = "Access denied") })
+			@ApiResponse(responseCode = "403", description = "Access denied"),
+			@ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress"),
+			@ApiResponse(responseCode = "422", description = "Idempotency-Key was used for a different request") })
 	public ResponseEntity<Passenger> createPassenger(
 			@Valid @RequestBody @Parameter(description = "Details of the new passenger", required = true) PassengerRequestDTO passenger) {
 		Passenger savedPassenger = passengerUserService.createPassenger(passenger);
@@ -1,6 +1,10 @@
 package ch.fankhauser.levin.flightbookingsystem.passenger;
 
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -10,14 +14,22 @@ import java.util.List;
 public class PassengerUserService {
 
 	private final PassengerRepository passengerRepository;
+	private final PassengerPageCache passengerPageCache;
+	private final BookingPageCache bookingPageCache;
 
-	public PassengerUserService(PassengerRepository passengerRepository) {
+	public PassengerUserService(PassengerRepository passengerRepository, PassengerPageCache passengerPageCache, BookingPageCache bookingPageCache) {
 		this.passengerRepository = passengerRepository;
+		this.passengerPageCache = passengerPageCache;
+		this.bookingPageCache = bookingPageCache;
 	}
 
-	public List<Passenger> findAllPassengers() {
+	public CursorPage<PassengerResponseDTO> findAllPassengers(String cursor, Integer size) {
 		String uname = SecurityContextHolder.getContext().getAuthentication().getName();
-		return passengerRepository.findAllByCreatedBy(uname);
+		int limit = CursorPage.boundedSize(size);
+		return passengerPageCache.get(uname, cursor, limit, () -> {
+			List<Passenger> rows = passengerRepository.findAllByCreatedByAndIdGreaterThanOrderByIdAsc(uname, Cursor.decodeId(cursor), Limit.of(limit + 1));
+			return CursorPage.of(rows, limit, passenger -> Cursor.encode(passenger.getId())).map(PassengerResponseDTO::of);
+		});
 	}
 
 	public Passenger findPassengerById(Long id) {
@@ -27,7 +39,9 @@ public class PassengerUserService {
 	}
 
 	public Passenger createPassenger(PassengerRequestDTO passenger) {
-		return passengerRepository.save(mapDtoToEntity(passenger));
+		Passenger savedPassenger = passengerRepository.save(mapDtoToEntity(passenger));
+		passengerPageCache.evict(savedPassenger.getCreatedBy());
+		return savedPassenger;
 	}
 
 	public Passenger updatePassenger(Long id, PassengerRequestDTO passenger) {
@@ -37,14 +51,19 @@ public class PassengerUserService {
 			existingPassenger.setFirstname(passenger.firstname());
 			existingPassenger.setAge(passenger.age());
 			existingPassenger.setNationality(passenger.nationality());
-			return passengerRepository.save(existingPassenger);
+			Passenger savedPassenger = passengerRepository.save(existingPassenger);
+			passengerPageCache.evict(uname);
+			bookingPageCache.evictAll();
+			return savedPassenger;
 		}).orElseGet(() -> createPassenger(passenger));
 	}
 
 	public void deletePassenger(Long id) {
 		String uname = SecurityContextHolder.getContext().getAuthentication().getName();
-		passengerRepository.findByIdAndCreatedBy(id, uname).ifPresentOrElse(
-				passengerRepository::delete, () -> {
+		passengerRepository.findByIdAndCreatedBy(id, uname).ifPresentOrElse(existingPassenger -> {
+			passengerRepository.delete(existingPassenger);
+			passengerPageCache.evict(uname);
+		}, () -> {
 					throw new EntityNotFoundException("Passenger not found with id: " + id + " and createdBy: " + uname);
 				});
 	}
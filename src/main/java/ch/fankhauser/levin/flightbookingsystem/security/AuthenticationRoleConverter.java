@@ -1,5 +1,10 @@
 package ch.fankhauser.levin.flightbookingsystem.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
@@ -9,19 +14,27 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class AuthenticationRoleConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+public class AuthenticationRoleConverter implements Converter<Jwt, AbstractAuthenticationToken>, MeterBinder {
 
 	private final JwtGrantedAuthoritiesConverter defaultGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+	private final Cache<String, TokenAuthorities> authoritiesByToken;
 
-	public AuthenticationRoleConverter() {
+	public AuthenticationRoleConverter(long maximumSize) {
 		defaultGrantedAuthoritiesConverter.setAuthoritiesClaimName("roles");
 		defaultGrantedAuthoritiesConverter.setAuthorityPrefix("ROLE_");
+		authoritiesByToken = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new TokenExpiry<>(TokenAuthorities::expiresAt))
+				.recordStats()
+				.build();
 	}
 
 	private static Collection<? extends GrantedAuthority> extractResourceRoles(final Jwt jwt) {
@@ -36,11 +49,26 @@ public class AuthenticationRoleConverter implements Converter<Jwt, AbstractAuthe
 		return Collections.emptySet();
 	}
 
+	private TokenAuthorities extractAuthorities(final Jwt jwt) {
+		Set<GrantedAuthority> authorities = Stream.concat(
+				defaultGrantedAuthoritiesConverter.convert(jwt).stream(),
+				extractResourceRoles(jwt).stream()).collect(Collectors.toUnmodifiableSet());
+		return new TokenAuthorities(authorities, jwt.getExpiresAt());
+	}
+
 	@Override
 	public AbstractAuthenticationToken convert(final @NonNull Jwt source) {
-		Collection<GrantedAuthority> authorities = Stream.concat(
-				defaultGrantedAuthoritiesConverter.convert(source).stream(),
-				extractResourceRoles(source).stream()).collect(Collectors.toSet());
-		return new JwtAuthenticationToken(source, authorities);
+		// The authentication itself is not shared, the provider attaches request details to it.
+		TokenAuthorities authorities = authoritiesByToken.get(source.getTokenValue(), token -> extractAuthorities(source));
+		return new JwtAuthenticationToken(source, authorities.authorities());
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, authoritiesByToken, "token-authorities");
+	}
+
+	private record TokenAuthorities(Set<GrantedAuthority> authorities, Instant expiresAt) {
+
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package ch.fankhauser.levin.flightbookingsystem.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.NonNull;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Remembers successfully verified tokens until they expire, so a client reusing its token is not verified again on every
+ * request. Only the exact token string is cached; rejected tokens always go through the delegate.
+ */
+public class CachingJwtDecoder implements JwtDecoder, MeterBinder {
+
+	private final JwtDecoder delegate;
+	private final Cache<String, Jwt> verifiedTokens;
+
+	public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+		this.delegate = delegate;
+		this.verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new TokenExpiry<>(Jwt::getExpiresAt))
+				.recordStats()
+				.build();
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		return verifiedTokens.get(token, delegate::decode);
+	}
+
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verified-tokens");
+	}
+}
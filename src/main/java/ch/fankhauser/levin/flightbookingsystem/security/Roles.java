@@ -4,4 +4,5 @@ public class Roles {
 
 	public static final String Admin = "admin";
 	public static final String User = "user";
+	public static final String Monitoring = "monitoring";
 }
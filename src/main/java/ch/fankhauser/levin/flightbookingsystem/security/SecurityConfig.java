@@ -1,13 +1,27 @@
 package ch.fankhauser.levin.flightbookingsystem.security;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
@@ -15,6 +29,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(jsr250Enabled = true, securedEnabled = true)
@@ -24,16 +42,51 @@ public class SecurityConfig {
 			"/", "/v3/api-docs/**", "/v3/api-docs.yaml", "/swagger-ui/**", "/swagger-ui.html" };
 
 	@Bean
-	protected SecurityFilterChain configure(HttpSecurity http) throws Exception {
+	protected SecurityFilterChain configure(HttpSecurity http, JwtDecoder jwtDecoder, ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${flight-booking.token-cache.maximum-size:10000}") long tokenCacheSize) throws Exception {
 		CsrfTokenRequestAttributeHandler requestHandler = new CsrfTokenRequestAttributeHandler();
 		requestHandler.setCsrfRequestAttributeName(null);
-		http.authorizeHttpRequests(authorize -> authorize.requestMatchers(AUTH_WHITELIST).permitAll().anyRequest().authenticated())
-				.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new AuthenticationRoleConverter())))
+		CachingJwtDecoder cachingJwtDecoder = new CachingJwtDecoder(jwtDecoder, tokenCacheSize);
+		AuthenticationRoleConverter authenticationRoleConverter = new AuthenticationRoleConverter(tokenCacheSize);
+		meterRegistry.ifAvailable(registry -> {
+			cachingJwtDecoder.bindTo(registry);
+			authenticationRoleConverter.bindTo(registry);
+		});
+		http.authorizeHttpRequests(authorize -> authorize.requestMatchers(AUTH_WHITELIST).permitAll()
+						.requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+						.requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole(Roles.Monitoring)
+						.anyRequest().authenticated())
+				.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(cachingJwtDecoder)
+						.jwtAuthenticationConverter(authenticationRoleConverter)))
 				.csrf(csrf -> csrf.csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse()).csrfTokenRequestHandler(requestHandler))
 				.cors(cors -> corsConfigurer());
 		return http.build();
 	}
 
+	// The load-test profile, which only exists on the test classpath, brings its own decoder.
+	@Bean
+	@Profile("!loadtest")
+	public SnapshotJwkSource jwkSource(@Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") URL jwkSetUri,
+			@Value("${flight-booking.jwks.snapshot:jwks.json}") Path snapshot,
+			@Value("${flight-booking.jwks.refresh-interval:15m}") Duration refreshInterval,
+			@Value("${flight-booking.jwks.min-refresh-interval:30s}") Duration minRefreshInterval,
+			TaskScheduler taskScheduler) {
+		return new SnapshotJwkSource(jwkSetUri, snapshot, refreshInterval, minRefreshInterval, taskScheduler);
+	}
+
+	@Bean
+	@Profile("!loadtest")
+	public JwtDecoder jwtDecoder(SnapshotJwkSource jwkSource, @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer) {
+		DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+		jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+		// Claims are checked by the validators of the decoder.
+		jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+		});
+		NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+		jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+		return jwtDecoder;
+	}
+
 	@Bean
 	public WebMvcConfigurer corsConfigurer() {
 		return new WebMvcConfigurer() {
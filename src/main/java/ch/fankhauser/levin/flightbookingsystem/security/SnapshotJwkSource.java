@@ -0,0 +1,111 @@
+package ch.fankhauser.levin.flightbookingsystem.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves signing keys from a local JWKS snapshot so the application can verify tokens without contacting the issuer at
+ * startup. The snapshot is refreshed from the issuer in the background and whenever a token names an unknown key, which
+ * is how key rotations are picked up. Such on-demand refreshes are rate limited so forged key ids cannot flood the issuer.
+ */
+public class SnapshotJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(SnapshotJwkSource.class);
+	private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+	private static final int READ_TIMEOUT_MILLIS = 5_000;
+	private static final int SIZE_LIMIT_BYTES = 512 * 1024;
+
+	private final URL jwkSetUrl;
+	private final Path snapshot;
+	private final long minRefreshNanos;
+	private final ReentrantLock refreshLock = new ReentrantLock();
+	private final ScheduledFuture<?> refresher;
+	private volatile JWKSet keys = new JWKSet();
+	private long lastRefreshNanos;
+
+	public SnapshotJwkSource(URL jwkSetUrl, Path snapshot, Duration refreshInterval, Duration minRefreshInterval, TaskScheduler taskScheduler) {
+		this.jwkSetUrl = jwkSetUrl;
+		this.snapshot = snapshot;
+		this.minRefreshNanos = minRefreshInterval.toNanos();
+		this.lastRefreshNanos = System.nanoTime() - minRefreshNanos;
+		loadSnapshot();
+		Instant firstRefresh = keys.isEmpty() ? Instant.now() : Instant.now().plus(refreshInterval);
+		this.refresher = taskScheduler.scheduleWithFixedDelay(() -> refresh(true), firstRefresh, refreshInterval);
+	}
+
+	@Override
+	public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+		List<JWK> matches = jwkSelector.select(keys);
+		if (matches.isEmpty()) {
+			refresh(false);
+			matches = jwkSelector.select(keys);
+		}
+		return matches;
+	}
+
+	@Override
+	public void close() {
+		refresher.cancel(false);
+	}
+
+	private void loadSnapshot() {
+		if (!Files.isReadable(snapshot)) {
+			log.info("No JWKS snapshot at {}, fetching keys from {}", snapshot, jwkSetUrl);
+			return;
+		}
+		try {
+			keys = JWKSet.load(snapshot.toFile());
+			log.info("Loaded {} signing keys from JWKS snapshot {}", keys.size(), snapshot);
+		} catch (IOException | ParseException e) {
+			log.warn("Ignoring unreadable JWKS snapshot {}", snapshot, e);
+		}
+	}
+
+	private void refresh(boolean scheduled) {
+		refreshLock.lock();
+		try {
+			if (!scheduled && System.nanoTime() - lastRefreshNanos < minRefreshNanos) {
+				return;
+			}
+			lastRefreshNanos = System.nanoTime();
+			JWKSet fetched = JWKSet.load(jwkSetUrl, CONNECT_TIMEOUT_MILLIS, READ_TIMEOUT_MILLIS, SIZE_LIMIT_BYTES);
+			keys = fetched;
+			writeSnapshot(fetched);
+		} catch (IOException | ParseException e) {
+			log.warn("Could not refresh signing keys from {}, keeping {} known keys", jwkSetUrl, keys.size(), e);
+		} finally {
+			refreshLock.unlock();
+		}
+	}
+
+	private void writeSnapshot(JWKSet fetched) {
+		try {
+			Path directory = snapshot.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+			Files.writeString(temporary, fetched.toString(true), StandardCharsets.UTF_8);
+			Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("Could not write JWKS snapshot {}", snapshot, e);
+		}
+	}
+}
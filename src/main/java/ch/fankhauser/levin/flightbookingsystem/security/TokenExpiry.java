@@ -0,0 +1,41 @@
+package ch.fankhauser.levin.flightbookingsystem.security;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Expires cache entries derived from a token when the token itself expires.
+ */
+class TokenExpiry<V> implements Expiry<String, V> {
+
+	static final Duration TTL_WITHOUT_EXPIRY = Duration.ofMinutes(5);
+
+	private final Function<V, Instant> expiresAt;
+
+	TokenExpiry(Function<V, Instant> expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	@Override
+	public long expireAfterCreate(@NonNull String token, @NonNull V value, long currentTime) {
+		Instant expiry = expiresAt.apply(value);
+		if (expiry == null) {
+			return TTL_WITHOUT_EXPIRY.toNanos();
+		}
+		return Math.max(0, Duration.between(Instant.now(), expiry).toNanos());
+	}
+
+	@Override
+	public long expireAfterUpdate(@NonNull String token, @NonNull V value, long currentTime, long currentDuration) {
+		return expireAfterCreate(token, value, currentTime);
+	}
+
+	@Override
+	public long expireAfterRead(@NonNull String token, @NonNull V value, long currentTime, long currentDuration) {
+		return currentDuration;
+	}
+}
@@ -0,0 +1,56 @@
+CREATE SEQUENCE IF NOT EXISTS airplane_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS flight_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS passenger_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS booking_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS airplane (
+    id                bigint       NOT NULL,
+    brand             varchar(100) NOT NULL,
+    model             varchar(100) NOT NULL,
+    construction_year integer      NOT NULL,
+    airline           varchar(100) NOT NULL,
+    seat_capacity     integer      NOT NULL,
+    created_by        varchar(255) NOT NULL,
+    CONSTRAINT pk_airplane PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS flight (
+    id          bigint       NOT NULL,
+    airplane_id bigint       NOT NULL,
+    origin      varchar(100) NOT NULL,
+    destination varchar(100) NOT NULL,
+    departure   timestamp(6) NOT NULL,
+    arrival     timestamp(6) NOT NULL,
+    created_by  varchar(255) NOT NULL,
+    CONSTRAINT pk_flight PRIMARY KEY (id),
+    CONSTRAINT fk_flight_airplane FOREIGN KEY (airplane_id) REFERENCES airplane (id)
+);
+
+CREATE TABLE IF NOT EXISTS passenger (
+    id          bigint       NOT NULL,
+    lastname    varchar(100) NOT NULL,
+    firstname   varchar(100) NOT NULL,
+    age         integer      NOT NULL,
+    nationality varchar(50)  NOT NULL,
+    created_by  varchar(255) NOT NULL,
+    CONSTRAINT pk_passenger PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS booking (
+    id               bigint       NOT NULL,
+    passenger_id     bigint       NOT NULL,
+    origin           varchar(100) NOT NULL,
+    destination      varchar(100) NOT NULL,
+    departure        timestamp(6) NOT NULL,
+    arrival          timestamp(6) NOT NULL,
+    first_flight_id  bigint       NOT NULL,
+    second_flight_id bigint,
+    third_flight_id  bigint,
+    booking_date     timestamp(6) NOT NULL,
+    created_by       varchar(255) NOT NULL,
+    CONSTRAINT pk_booking PRIMARY KEY (id),
+    CONSTRAINT fk_booking_passenger FOREIGN KEY (passenger_id) REFERENCES passenger (id),
+    CONSTRAINT fk_booking_first_flight FOREIGN KEY (first_flight_id) REFERENCES flight (id),
+    CONSTRAINT fk_booking_second_flight FOREIGN KEY (second_flight_id) REFERENCES flight (id),
+    CONSTRAINT fk_booking_third_flight FOREIGN KEY (third_flight_id) REFERENCES flight (id)
+);
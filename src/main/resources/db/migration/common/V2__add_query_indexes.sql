@@ -0,0 +1,13 @@
+-- Keyset pages and detail lookups per owner: WHERE created_by = ? AND id > ? ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_booking_created_by_id ON booking (created_by, id);
+CREATE INDEX IF NOT EXISTS idx_passenger_created_by_id ON passenger (created_by, id);
+
+-- Foreign key checks on delete and the per-flight seat count
+CREATE INDEX IF NOT EXISTS idx_booking_passenger ON booking (passenger_id);
+CREATE INDEX IF NOT EXISTS idx_booking_first_flight ON booking (first_flight_id);
+CREATE INDEX IF NOT EXISTS idx_booking_second_flight ON booking (second_flight_id);
+CREATE INDEX IF NOT EXISTS idx_booking_third_flight ON booking (third_flight_id);
+CREATE INDEX IF NOT EXISTS idx_flight_airplane ON flight (airplane_id);
+
+-- Route search: WHERE origin = ? AND destination = ? AND departure BETWEEN ? AND ?
+CREATE INDEX IF NOT EXISTS idx_flight_route_departure ON flight (origin, destination, departure);
@@ -0,0 +1,3 @@
+-- Optimistic locking: UPDATE ... WHERE id = ? AND version = ?
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE booking ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Responses of POST requests sent with an Idempotency-Key, keyed by a hash of user and key
+CREATE TABLE IF NOT EXISTS idempotent_response (
+    id           varchar(64)  NOT NULL,
+    request_hash varchar(64)  NOT NULL,
+    status       integer      NOT NULL,
+    content_type varchar(255),
+    body         bytea        NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    CONSTRAINT pk_idempotent_response PRIMARY KEY (id)
+);
+
+-- TTL purge: DELETE ... WHERE created_at < ?
+CREATE INDEX IF NOT EXISTS idx_idempotent_response_created_at ON idempotent_response (created_at);
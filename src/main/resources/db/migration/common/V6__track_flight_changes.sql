@@ -0,0 +1,12 @@
+-- Delta sync: WHERE updated_at > ? OR (updated_at = ? AND id > ?) ORDER BY updated_at, id
+ALTER TABLE flight ADD COLUMN IF NOT EXISTS updated_at timestamp(6) NOT NULL DEFAULT CURRENT_TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_flight_updated_at ON flight (updated_at, id);
+
+-- Deleted flights, kept for the tombstone retention so that syncing clients learn about the deletion
+CREATE TABLE IF NOT EXISTS flight_tombstone (
+    flight_id  bigint       NOT NULL,
+    deleted_at timestamp(6) NOT NULL,
+    CONSTRAINT pk_flight_tombstone PRIMARY KEY (flight_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_flight_tombstone_deleted_at ON flight_tombstone (deleted_at, flight_id);
@@ -0,0 +1,5 @@
+-- Schemas created by ddl-auto used identity columns; move the pooled sequences past existing ids.
+SELECT setval('airplane_seq', COALESCE((SELECT MAX(id) FROM airplane), 0) + 50);
+SELECT setval('flight_seq', COALESCE((SELECT MAX(id) FROM flight), 0) + 50);
+SELECT setval('passenger_seq', COALESCE((SELECT MAX(id) FROM passenger), 0) + 50);
+SELECT setval('booking_seq', COALESCE((SELECT MAX(id) FROM booking), 0) + 50);
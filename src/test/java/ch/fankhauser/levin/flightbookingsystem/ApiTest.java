@@ -0,0 +1,30 @@
+package ch.fankhauser.levin.flightbookingsystem;
+
+import ch.fankhauser.levin.flightbookingsystem.security.TestTokens;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the whole application against an empty in-memory H2 database behind the regular connection pool, with MockMvc
+ * and {@link TestTokens} for authentication. The JWKS snapshot holds a key so that no keys are fetched from Keycloak.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.datasource.driverClassName=org.h2.Driver",
+		"flight-booking.jwks.snapshot=src/test/resources/jwks.json" })
+@AutoConfigureMockMvc
+@Import(TestTokens.class)
+public @interface ApiTest {
+}
@@ -0,0 +1,70 @@
+package ch.fankhauser.levin.flightbookingsystem;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.booking.Booking;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unsaved entities with valid defaults for tests that need rows in the database.
+ */
+public final class TestEntities {
+
+	private TestEntities() {
+	}
+
+	public static Airplane airplane() {
+		return airplane(180);
+	}
+
+	public static Airplane airplane(int seatCapacity) {
+		Airplane airplane = new Airplane();
+		airplane.setBrand("Airbus");
+		airplane.setModel("A320");
+		airplane.setConstructionYear(2015);
+		airplane.setAirline("Swiss");
+		airplane.setSeatCapacity(seatCapacity);
+		airplane.setCreatedBy("admin");
+		return airplane;
+	}
+
+	public static Flight flight(Airplane airplane, String origin, String destination, LocalDateTime departure, LocalDateTime arrival) {
+		Flight flight = new Flight();
+		flight.setAirplane(airplane);
+		flight.setOrigin(origin);
+		flight.setDestination(destination);
+		flight.setDeparture(departure);
+		flight.setArrival(arrival);
+		flight.setCreatedBy("admin");
+		return flight;
+	}
+
+	public static Passenger passenger(String firstname, String createdBy) {
+		Passenger passenger = new Passenger();
+		passenger.setFirstname(firstname);
+		passenger.setLastname("Mustermann");
+		passenger.setAge(30);
+		passenger.setNationality("CH");
+		passenger.setCreatedBy(createdBy);
+		return passenger;
+	}
+
+	/**
+	 * A booking of the passenger on the first flight, continuing on the second one unless it is {@code null}.
+	 */
+	public static Booking booking(Passenger passenger, Flight first, Flight second, LocalDateTime bookingDate, String createdBy) {
+		Booking booking = new Booking();
+		booking.setPassenger(passenger);
+		booking.setOrigin(first.getOrigin());
+		booking.setDestination(second != null ? second.getDestination() : first.getDestination());
+		booking.setDeparture(first.getDeparture());
+		booking.setArrival(second != null ? second.getArrival() : first.getArrival());
+		booking.setFirstFlight(first);
+		booking.setSecondFlight(second);
+		booking.setBookingDate(bookingDate);
+		booking.setCreatedBy(createdBy);
+		return booking;
+	}
+}
@@ -0,0 +1,13 @@
+package ch.fankhauser.levin.flightbookingsystem;
+
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Starts the application with the test classpath, which holds the {@code loadtest} profile.
+ */
+public class TestFlightBookingSystemApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.from(FlightBookingSystemApplication::main).run(args);
+	}
+}
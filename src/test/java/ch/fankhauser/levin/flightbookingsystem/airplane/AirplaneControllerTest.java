@@ -0,0 +1,52 @@
+package ch.fankhauser.levin.flightbookingsystem.airplane;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.fankhauser.levin.flightbookingsystem.base.GlobalExceptionHandler;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightCollectionVersion;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightEventBroadcaster;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+class AirplaneControllerTest {
+
+	private AirplaneRepository airplaneRepository;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		airplaneRepository = mock(AirplaneRepository.class);
+		AirplaneService airplaneService = new AirplaneService(airplaneRepository, new BookingPageCache(10, Duration.ofMinutes(5)),
+				new AirplaneCollectionVersion(), new FlightCollectionVersion(), mock(FlightRepository.class),
+				new FlightEventBroadcaster(16, Duration.ofSeconds(15)), mock(SeatInventory.class));
+		mockMvc = MockMvcBuilders.standaloneSetup(new AirplaneController(airplaneService, new AirplaneCollectionVersion()))
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void getAllAirplanes_rejectsAMalformedCursor() throws Exception {
+		mockMvc.perform(get("/api/airplane").param("cursor", "not a cursor"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("Invalid cursor: not a cursor"));
+		verifyNoInteractions(airplaneRepository);
+	}
+
+	@Test
+	void getAllAirplanes_rejectsACursorOfAnotherOrder() throws Exception {
+		mockMvc.perform(get("/api/airplane").param("cursor", "MjAyNS0wNi0wMVQwNzowMHw0Mg"))
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(airplaneRepository);
+	}
+}
@@ -0,0 +1,86 @@
+package ch.fankhauser.levin.flightbookingsystem.airplane;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AirplaneRepositoryTest {
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private Airplane airplane;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		airplane = airplaneRepository.save(airplane());
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		airplaneRepository.deleteAll();
+	}
+
+	@Test
+	void findById_isServedFromSecondLevelCache() {
+		airplaneRepository.findById(airplane.getId()).orElseThrow();
+		long statements = statistics.getPrepareStatementCount();
+
+		Airplane cached = airplaneRepository.findById(airplane.getId()).orElseThrow();
+
+		assertThat(cached.getModel()).isEqualTo("A320");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+		assertThat(statistics.getDomainDataRegionStatistics("airplane").getHitCount()).isPositive();
+	}
+
+	@Test
+	void save_replacesCachedEntry() {
+		airplaneRepository.findById(airplane.getId()).orElseThrow();
+		airplane.setSeatCapacity(150);
+		airplaneRepository.save(airplane);
+
+		assertThat(airplaneRepository.findById(airplane.getId()).orElseThrow().getSeatCapacity()).isEqualTo(150);
+	}
+
+	@Test
+	void deleteById_evictsCachedEntry() {
+		airplaneRepository.findById(airplane.getId()).orElseThrow();
+
+		airplaneRepository.deleteById(airplane.getId());
+
+		assertThat(airplaneRepository.findById(airplane.getId())).isEmpty();
+	}
+
+	@Test
+	void listQuery_isCachedUntilTheTableChanges() {
+		airplaneRepository.findAllByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+		long statements = statistics.getPrepareStatementCount();
+
+		assertThat(airplaneRepository.findAllByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).hasSize(1);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+		airplaneRepository.save(airplane());
+
+		assertThat(airplaneRepository.findAllByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).hasSize(2);
+	}
+}
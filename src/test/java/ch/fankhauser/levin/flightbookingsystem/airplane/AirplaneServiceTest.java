@@ -0,0 +1,128 @@
+package ch.fankhauser.levin.flightbookingsystem.airplane;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingRepository;
+import ch.fankhauser.levin.flightbookingsystem.booking.FlightFullyBookedException;
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightChange;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightCollectionVersion;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightEventBroadcaster;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AirplaneServiceTest {
+
+	private static final LocalDateTime DEPARTURE = LocalDateTime.of(2025, 6, 1, 7, 0);
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private SeatInventory seatInventory;
+	private AirplaneService airplaneService;
+	private FlightCollectionVersion flightCollectionVersion;
+	private final List<ServerSentEvent<Object>> events = new CopyOnWriteArrayList<>();
+	private Disposable subscription;
+	private Airplane airplane;
+	private Flight flight;
+
+	@BeforeEach
+	void setUp() {
+		flightCollectionVersion = new FlightCollectionVersion();
+		FlightEventBroadcaster flightEventBroadcaster = new FlightEventBroadcaster(16, Duration.ofHours(1));
+		subscription = flightEventBroadcaster.subscribe(null, null).subscribe(events::add);
+		seatInventory = new SeatInventory(flightRepository, bookingRepository);
+		airplaneService = new AirplaneService(airplaneRepository, new BookingPageCache(100, Duration.ofMinutes(5)), new AirplaneCollectionVersion(),
+				flightCollectionVersion, flightRepository, flightEventBroadcaster, seatInventory);
+
+		airplane = airplaneRepository.save(airplane());
+		flight = flightRepository.save(flight(airplane, "ZRH", "LHR", DEPARTURE, DEPARTURE.plusHours(2)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		subscription.dispose();
+		flightRepository.deleteAll();
+		airplaneRepository.deleteAll();
+	}
+
+	private AirplaneRequestDTO request(int seatCapacity) {
+		return new AirplaneRequestDTO("Airbus", "A320", 2015, "Swiss", seatCapacity);
+	}
+
+	@Test
+	void updateAirplane_marksItsFlightsAsChanged() {
+		String eTag = flightCollectionVersion.eTag();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> airplaneService.updateAirplane(airplane.getId(), request(200)));
+
+		Flight touched = flightRepository.findById(flight.getId()).orElseThrow();
+		assertThat(touched.getVersion()).isEqualTo(flight.getVersion() + 1);
+		assertThat(touched.getUpdatedAt()).isAfter(flight.getUpdatedAt());
+		assertThat(flightCollectionVersion.eTag()).isNotEqualTo(eTag);
+		assertThat(events).extracting(event -> (FlightChange) event.data())
+				.singleElement()
+				.satisfies(change -> {
+					assertThat(change.type()).isEqualTo(FlightChange.Type.UPDATED);
+					assertThat(change.flight().getAirplane().getSeatCapacity()).isEqualTo(200);
+				});
+	}
+
+	@Test
+	void updateAirplane_leavesFlightsAndTagsAloneWhenRolledBack() {
+		String eTag = flightCollectionVersion.eTag();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			airplaneService.updateAirplane(airplane.getId(), request(200));
+			status.setRollbackOnly();
+		});
+
+		assertThat(airplaneRepository.findById(airplane.getId())).get().extracting(Airplane::getSeatCapacity).isEqualTo(180);
+		assertThat(flightRepository.findById(flight.getId())).get().extracting(Flight::getVersion).isEqualTo(flight.getVersion());
+		assertThat(flightCollectionVersion.eTag()).isEqualTo(eTag);
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void updateAirplane_appliesTheNewCapacityToSeatReservationsAfterCommit() {
+		seatInventory.reserve(List.of(flight.getId()));
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			airplaneService.updateAirplane(airplane.getId(), request(1));
+			seatInventory.reserve(List.of(flight.getId()));
+		});
+
+		assertThatThrownBy(() -> seatInventory.reserve(List.of(flight.getId()))).isInstanceOf(FlightFullyBookedException.class);
+	}
+}
@@ -0,0 +1,61 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CollectionVersionTest {
+
+	private final CollectionVersion collectionVersion = new CollectionVersion();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private String load() {
+		return "page " + loads.incrementAndGet();
+	}
+
+	@Test
+	void respond_returnsTheCurrentTagWithTheBody() {
+		ResponseEntity<String> response = collectionVersion.respond(null, this::load);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).isEqualTo(collectionVersion.eTag());
+		assertThat(response.getBody()).isEqualTo("page 1");
+	}
+
+	@Test
+	void respond_answersNotModifiedWithoutLoading() {
+		ResponseEntity<String> response = collectionVersion.respond(collectionVersion.eTag(), this::load);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getBody()).isNull();
+		assertThat(loads.get()).isZero();
+	}
+
+	@Test
+	void respond_loadsAgainAfterABump() {
+		String previous = collectionVersion.eTag();
+		collectionVersion.bump();
+
+		ResponseEntity<String> response = collectionVersion.respond(previous, this::load);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).isNotEqualTo(previous);
+	}
+
+	@Test
+	void matches_comparesWeaklyAgainstEveryListedTag() {
+		String eTag = collectionVersion.eTag();
+		collectionVersion.bump();
+		String nextETag = collectionVersion.eTag();
+
+		assertThat(CollectionVersion.matches("\"other\", " + eTag, eTag)).isTrue();
+		assertThat(CollectionVersion.matches(eTag.substring(2), eTag)).isTrue();
+		assertThat(CollectionVersion.matches("*", eTag)).isTrue();
+		assertThat(CollectionVersion.matches("\"other\"", eTag)).isFalse();
+		assertThat(CollectionVersion.matches(nextETag, eTag)).isFalse();
+	}
+}
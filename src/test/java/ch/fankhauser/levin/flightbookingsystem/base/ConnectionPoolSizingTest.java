@@ -0,0 +1,29 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+class ConnectionPoolSizingTest {
+
+	@Test
+	void sizesUnconfiguredPoolsByDatabaseCoresAndSpindles() {
+		HikariDataSource dataSource = new HikariDataSource();
+
+		new ConnectionPoolSizing(4, 1).postProcessBeforeInitialization(dataSource, "dataSource");
+
+		assertThat(dataSource.getMaximumPoolSize()).isEqualTo(9);
+		assertThat(dataSource.getMinimumIdle()).isEqualTo(9);
+	}
+
+	@Test
+	void keepsAConfiguredPoolSize() {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setMaximumPoolSize(10);
+
+		new ConnectionPoolSizing(4, 1).postProcessBeforeInitialization(dataSource, "dataSource");
+
+		assertThat(dataSource.getMaximumPoolSize()).isEqualTo(10);
+	}
+}
@@ -0,0 +1,72 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class HashedTimingWheelTest {
+
+	private ThreadPoolTaskScheduler taskScheduler;
+	private HashedTimingWheel timingWheel;
+
+	@BeforeEach
+	void setUp() {
+		taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.initialize();
+		timingWheel = new HashedTimingWheel(Duration.ofMillis(10), 8, taskScheduler);
+	}
+
+	@AfterEach
+	void tearDown() {
+		timingWheel.close();
+		taskScheduler.shutdown();
+	}
+
+	@Test
+	void schedule_runsTaskAfterDelay() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		long start = System.nanoTime();
+
+		timingWheel.schedule(latch::countDown, Duration.ofMillis(50));
+
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(40).toNanos());
+	}
+
+	@Test
+	void schedule_handlesDelaysLongerThanOneRevolution() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		long start = System.nanoTime();
+
+		timingWheel.schedule(latch::countDown, Duration.ofMillis(250));
+
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(240).toNanos());
+	}
+
+	@Test
+	void cancel_preventsTaskFromRunning() throws InterruptedException {
+		AtomicInteger runs = new AtomicInteger();
+		CountDownLatch later = new CountDownLatch(1);
+
+		timingWheel.schedule(runs::incrementAndGet, Duration.ofMillis(30)).cancel();
+		timingWheel.schedule(later::countDown, Duration.ofMillis(80));
+
+		assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(runs.get()).isZero();
+	}
+
+	@Test
+	void constructor_rejectsWheelSizeThatIsNoPowerOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(Duration.ofMillis(10), 10, taskScheduler));
+	}
+}
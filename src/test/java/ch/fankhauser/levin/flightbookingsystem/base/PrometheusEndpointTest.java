@@ -0,0 +1,57 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import static ch.fankhauser.levin.flightbookingsystem.security.TestTokens.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.fankhauser.levin.flightbookingsystem.ApiTest;
+import ch.fankhauser.levin.flightbookingsystem.security.Roles;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@ApiTest
+@AutoConfigureObservability
+class PrometheusEndpointTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void prometheus_exposesRequestRepositoryHibernatePoolAndCacheMetrics() throws Exception {
+		mockMvc.perform(get("/api/booking").header(HttpHeaders.AUTHORIZATION, bearer("metrics-user", Roles.User)))
+				.andExpect(status().isOk());
+
+		String metrics = mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("metrics-monitoring", Roles.Monitoring)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(metrics)
+				.contains("http_server_requests_seconds_bucket{")
+				.contains("handler=\"BookingUserController.getAllBookings\"")
+				.contains("spring_data_repository_invocations_seconds_bucket{")
+				.contains("hibernate_query_executions_total")
+				.contains("hibernate_entities_loads_total")
+				.contains("hibernate_flushes_total")
+				.contains("hikaricp_connections_active")
+				.contains("cache_gets_total{cache=\"booking-pages\"")
+				.contains("cache_gets_total{cache=\"verified-tokens\"");
+	}
+
+	@Test
+	void prometheus_isDeniedToOtherRoles() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer("metrics-admin", Roles.Admin)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void health_isPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+}
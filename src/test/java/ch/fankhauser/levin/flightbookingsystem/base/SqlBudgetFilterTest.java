@@ -0,0 +1,108 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import jakarta.servlet.AsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlBudgetFilterTest {
+
+	private SqlStatementListener listener;
+	private SqlBudgetFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		listener = new SqlStatementListener(Duration.ofMillis(100), 100);
+		filter = new SqlBudgetFilter(listener, 3, Duration.ofMillis(500));
+	}
+
+	@AfterEach
+	void tearDown() {
+		listener.shutdown();
+	}
+
+	private void execute(String sql, long elapsedMillis) {
+		ExecutionInfo executionInfo = new ExecutionInfo();
+		executionInfo.setElapsedTime(elapsedMillis);
+		listener.afterQuery(executionInfo, List.of(new QueryInfo(sql)));
+	}
+
+	private void awaitOutput(Supplier<Boolean> condition) throws InterruptedException {
+		for (int i = 0; i < 50 && !condition.get(); i++) {
+			Thread.sleep(20);
+		}
+	}
+
+	@Test
+	void doFilter_reportsRequestsExceedingTheStatementBudget(CapturedOutput output) throws Exception {
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/booking"), new MockHttpServletResponse(), (request, response) -> {
+			execute("select * from booking", 1);
+			for (int i = 0; i < 4; i++) {
+				execute("select * from passenger where id=?", 1);
+			}
+		});
+
+		awaitOutput(() -> output.getOut().contains("GET /api/booking"));
+		assertThat(output.getOut()).contains("GET /api/booking executed 5 statements")
+				.contains("4x select * from passenger where id=?");
+	}
+
+	@Test
+	void doFilter_staysQuietWithinBudget(CapturedOutput output) throws Exception {
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/flight"), new MockHttpServletResponse(),
+				(request, response) -> execute("select * from flight", 1));
+		CountDownLatch drained = new CountDownLatch(1);
+		listener.report(drained::countDown);
+
+		assertThat(drained.await(1, TimeUnit.SECONDS)).isTrue();
+		assertThat(output.getOut()).doesNotContain("/api/flight");
+	}
+
+	@Test
+	void doFilter_countsStatementsOfAsyncWorkOnceItCompletes(CapturedOutput output) throws Exception {
+		MockHttpServletRequest asyncRequest = new MockHttpServletRequest("GET", "/api/admin/booking/export");
+		asyncRequest.setAsyncSupported(true);
+		Runnable[] work = new Runnable[1];
+		filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> {
+			execute("select * from booking", 1);
+			AsyncContext asyncContext = request.startAsync();
+			work[0] = listener.propagate(() -> {
+				for (int i = 0; i < 4; i++) {
+					execute("select * from flight where id=?", 1);
+				}
+				asyncContext.complete();
+			});
+		});
+
+		Thread worker = Thread.ofVirtual().start(work[0]);
+		worker.join();
+
+		awaitOutput(() -> output.getOut().contains("/api/admin/booking/export"));
+		assertThat(output.getOut()).contains("GET /api/admin/booking/export executed 5 statements")
+				.contains("4x select * from flight where id=?");
+	}
+
+	@Test
+	void afterQuery_reportsSlowQueriesOutsideOfRequests(CapturedOutput output) throws Exception {
+		execute("select * from airplane", 250);
+
+		awaitOutput(() -> output.getOut().contains("Slow query"));
+		assertThat(output.getOut()).contains("Slow query took 250 ms: select * from airplane");
+	}
+}
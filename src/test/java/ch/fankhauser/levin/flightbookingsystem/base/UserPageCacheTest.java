@@ -0,0 +1,79 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class UserPageCacheTest {
+
+	private UserPageCache<String> cache;
+	private AtomicInteger loads;
+
+	@BeforeEach
+	void setUp() {
+		cache = new UserPageCache<>("test", 100, Duration.ofMinutes(5));
+		loads = new AtomicInteger();
+	}
+
+	private Supplier<CursorPage<String>> loader(String item) {
+		return () -> {
+			loads.incrementAndGet();
+			return new CursorPage<>(List.of(item), null);
+		};
+	}
+
+	@Test
+	void get_loadsEachPageOnce() {
+		cache.get("user1", null, 50, loader("a"));
+		CursorPage<String> page = cache.get("user1", null, 50, loader("b"));
+
+		assertThat(page.items()).containsExactly("a");
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void get_keysPagesByCursorAndSize() {
+		cache.get("user1", null, 50, loader("a"));
+		cache.get("user1", null, 10, loader("b"));
+		cache.get("user1", "MQ", 50, loader("c"));
+
+		assertThat(loads).hasValue(3);
+	}
+
+	@Test
+	void evict_dropsOnlyThatUsersPages() {
+		cache.get("user1", null, 50, loader("a"));
+		cache.get("user2", null, 50, loader("b"));
+
+		cache.evict("user1");
+
+		assertThat(cache.get("user1", null, 50, loader("c")).items()).containsExactly("c");
+		assertThat(cache.get("user2", null, 50, loader("d")).items()).containsExactly("b");
+	}
+
+	@Test
+	void get_doesNotServePageLoadedAcrossAnEviction() {
+		cache.get("user1", null, 50, () -> {
+			cache.evict("user1");
+			return new CursorPage<>(List.of("stale"), null);
+		});
+
+		assertThat(cache.get("user1", null, 50, loader("fresh")).items()).containsExactly("fresh");
+	}
+
+	@Test
+	void get_stopsCachingBeyondThePageLimit() {
+		for (int i = 0; i < UserPageCache.MAX_PAGES_PER_USER + 1; i++) {
+			cache.get("user1", "c" + i, 50, loader("a"));
+		}
+		cache.get("user1", "c" + UserPageCache.MAX_PAGES_PER_USER, 50, loader("a"));
+
+		assertThat(loads).hasValue(UserPageCache.MAX_PAGES_PER_USER + 2);
+	}
+}
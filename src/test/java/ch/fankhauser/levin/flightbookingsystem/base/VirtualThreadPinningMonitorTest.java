@@ -0,0 +1,61 @@
+package ch.fankhauser.levin.flightbookingsystem.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@EnabledForJreRange(max = JRE.JAVA_23, disabledReason = "Since JEP 491 virtual threads no longer pin inside synchronized")
+class VirtualThreadPinningMonitorTest {
+
+	private final Semaphore reported = new Semaphore(0);
+
+	private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10)) {
+
+		@Override
+		void report(RecordedEvent event) {
+			super.report(event);
+			reported.release();
+		}
+	};
+
+	@AfterEach
+	void tearDown() {
+		monitor.shutdown();
+	}
+
+	private static void blockWhileHolding(Object lock) {
+		synchronized (lock) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Test
+	void reportsVirtualThreadsBlockingInsideSynchronized() throws Exception {
+		Thread.ofVirtual().start(() -> blockWhileHolding(new Object())).join();
+
+		assertThat(reported.tryAcquire(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(monitor.getPinnedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void ignoresPlatformThreads() throws Exception {
+		Thread.ofPlatform().start(() -> blockWhileHolding(new Object())).join();
+		// Events are delivered in order, so once this one arrives an event of the platform thread would have, too.
+		Thread.ofVirtual().start(() -> blockWhileHolding(new Object())).join();
+
+		assertThat(reported.tryAcquire(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(monitor.getPinnedCount()).isEqualTo(1);
+	}
+}
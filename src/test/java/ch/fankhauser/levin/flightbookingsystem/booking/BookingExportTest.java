@@ -0,0 +1,130 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.booking;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.passenger;
+import static ch.fankhauser.levin.flightbookingsystem.security.TestTokens.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.fankhauser.levin.flightbookingsystem.ApiTest;
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerRepository;
+import ch.fankhauser.levin.flightbookingsystem.security.Roles;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@ApiTest
+class BookingExportTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2025, 6, 1, 0, 0);
+	private static final int BOOKINGS = 2 * BookingRepository.EXPORT_FETCH_SIZE + 1;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	@Autowired
+	private PassengerRepository passengerRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	private String username;
+	private Airplane airplane;
+	private Flight first;
+	private Flight second;
+	private Passenger passenger;
+	private List<Booking> bookings;
+
+	@BeforeEach
+	void setUp() {
+		username = "export-" + UUID.randomUUID();
+		airplane = airplaneRepository.save(airplane());
+		first = flightRepository.save(flight(airplane, "ZRH", "FRA", DAY.plusHours(7), DAY.plusHours(8)));
+		second = flightRepository.save(flight(airplane, "FRA", "JFK", DAY.plusHours(10), DAY.plusHours(18)));
+		passenger = passengerRepository.save(passenger("Max", username));
+		List<Booking> unsaved = new ArrayList<>(BOOKINGS);
+		for (int i = 0; i < BOOKINGS; i++) {
+			unsaved.add(booking(passenger, first, i % 2 == 0 ? second : null, DAY.minusDays(i % 30), username));
+		}
+		bookings = bookingRepository.saveAll(unsaved);
+	}
+
+	@AfterEach
+	void tearDown() {
+		bookingRepository.deleteAllInBatch(bookings);
+		passengerRepository.delete(passenger);
+		flightRepository.deleteAllInBatch(List.of(first, second));
+		airplaneRepository.delete(airplane);
+	}
+
+	@Test
+	void exportBookings_writesEveryBookingAsOneLineAcrossFetchBatches() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/admin/booking/export").header(HttpHeaders.AUTHORIZATION, bearer("export-admin", Roles.Admin)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		result.getAsyncResult();
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+		String body = result.getResponse().getContentAsString();
+		assertThat(body).endsWith("\n");
+		List<JsonNode> rows = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			rows.add(objectMapper.readTree(line));
+		}
+		assertThat(rows).hasSize((int) bookingRepository.count());
+
+		List<JsonNode> exported = rows.stream().filter(row -> row.get("createdBy").asText().equals(username)).toList();
+		assertThat(exported).extracting(row -> row.get("id").asLong())
+				.containsExactlyInAnyOrderElementsOf(bookings.stream().map(Booking::getId).toList());
+		assertThat(exported).allSatisfy(row -> {
+			assertThat(row.get("passenger").get("id").asLong()).isEqualTo(passenger.getId());
+			assertThat(row.get("firstFlight").get("id").asLong()).isEqualTo(first.getId());
+			assertThat(row.get("origin").asText()).isEqualTo("ZRH");
+		});
+		assertThat(exported).filteredOn(row -> row.get("secondFlight").isObject())
+				.hasSize(BookingRepository.EXPORT_FETCH_SIZE + 1)
+				.allSatisfy(row -> assertThat(row.get("destination").asText()).isEqualTo("JFK"));
+	}
+
+	@Test
+	void exportBookings_isDeniedToUsers() throws Exception {
+		mockMvc.perform(get("/api/admin/booking/export").header(HttpHeaders.AUTHORIZATION, bearer(username, Roles.User)))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/admin/booking/export"))
+				.andExpect(status().isUnauthorized());
+	}
+}
@@ -0,0 +1,127 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.passenger;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingImportServiceTest {
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private PassengerRepository passengerRepository;
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private BookingImportService bookingImportService;
+	private Passenger passenger;
+	private Flight flight;
+
+	@BeforeEach
+	void setUp() {
+		SeatInventory seatInventory = new SeatInventory(flightRepository, bookingRepository);
+		BookingPageCache bookingPageCache = new BookingPageCache(100, Duration.ofMinutes(5));
+		bookingImportService = new BookingImportService(bookingRepository, new BookingAdminService(bookingRepository, seatInventory, bookingPageCache), seatInventory, bookingPageCache,
+				new ObjectMapper().findAndRegisterModules(), Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, 2);
+
+		Airplane airplane = airplaneRepository.save(airplane(3));
+		flight = flightRepository.save(flight(airplane, "ZRH", "LHR", LocalDateTime.of(2025, 6, 1, 7, 0), LocalDateTime.of(2025, 6, 1, 9, 0)));
+		passenger = passengerRepository.save(passenger("Max", "user1"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		bookingRepository.deleteAll();
+		flightRepository.deleteAll();
+		airplaneRepository.deleteAll();
+		passengerRepository.deleteAll();
+	}
+
+	private String row(long passengerId, String origin) {
+		return """
+				{"passenger": {"id": %d}, "origin": "%s", "destination": "LHR",
+				 "departure": "2025-06-01T07:00:00", "arrival": "2025-06-01T09:00:00",
+				 "firstFlight": {"id": %d}, "bookingDate": "2025-05-01T12:00:00", "createdBy": "user1"}
+				""".formatted(passengerId, origin, flight.getId());
+	}
+
+	@Test
+	void importBookings_reportsInvalidRowsAndImportsTheRest() throws Exception {
+		String body = "[" + String.join(",", row(passenger.getId(), "ZRH"), row(passenger.getId(), ""),
+				row(passenger.getId() + 1000, "ZRH"), row(passenger.getId(), "ZRH")) + "]";
+
+		BookingImportResult result = bookingImportService.importBookings(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.received()).isEqualTo(4);
+		assertThat(result.imported()).isEqualTo(2);
+		assertThat(result.failures()).extracting(BookingImportFailure::row).containsExactly(2, 3);
+		assertThat(bookingRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void importBookings_rejectsRowsBeyondSeatCapacity() throws Exception {
+		String body = "[" + String.join(",", row(passenger.getId(), "ZRH"), row(passenger.getId(), "ZRH"),
+				row(passenger.getId(), "ZRH"), row(passenger.getId(), "ZRH")) + "]";
+
+		BookingImportResult result = bookingImportService.importBookings(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.imported()).isEqualTo(3);
+		assertThat(result.failures()).extracting(BookingImportFailure::row).containsExactly(4);
+	}
+
+	@Test
+	void importBookings_releasesTheSeatsOfAnUnwrittenChunkWhenTheUploadBreaksOff() throws Exception {
+		InputStream brokenUpload = new SequenceInputStream(new ByteArrayInputStream(("[" + row(passenger.getId(), "ZRH") + ",").getBytes(StandardCharsets.UTF_8)),
+				new InputStream() {
+					@Override
+					public int read() throws IOException {
+						throw new IOException("Connection reset");
+					}
+				});
+
+		assertThatThrownBy(() -> bookingImportService.importBookings(brokenUpload)).isInstanceOf(IOException.class);
+
+		String body = "[" + String.join(",", row(passenger.getId(), "ZRH"), row(passenger.getId(), "ZRH"), row(passenger.getId(), "ZRH")) + "]";
+		BookingImportResult result = bookingImportService.importBookings(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.imported()).isEqualTo(3);
+		assertThat(result.failures()).isEmpty();
+	}
+}
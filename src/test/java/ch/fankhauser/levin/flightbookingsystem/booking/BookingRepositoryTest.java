@@ -0,0 +1,55 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.booking;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.passenger;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@DataJpaTest
+class BookingRepositoryTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < 10; i++) {
+			Airplane airplane = entityManager.persist(airplane());
+			Flight first = entityManager.persist(flight(airplane, "ZRH", "FRA", DAY.plusHours(i), DAY.plusHours(i + 1)));
+			Flight second = entityManager.persist(flight(airplane, "FRA", "JFK", DAY.plusHours(i + 2), DAY.plusHours(i + 3)));
+			Passenger passenger = entityManager.persist(passenger("Max" + i, "user1"));
+			entityManager.persist(booking(passenger, first, i % 2 == 0 ? second : null, DAY, i < 5 ? "user1" : "user2"));
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void streamAll_returnsEveryBookingWithItsItinerary() {
+		List<Booking> bookings;
+		try (var stream = bookingRepository.streamAll()) {
+			bookings = stream.toList();
+		}
+
+		assertThat(bookings).hasSize(10);
+		assertThat(bookings).filteredOn(booking -> booking.getSecondFlight() != null).hasSize(5);
+	}
+}
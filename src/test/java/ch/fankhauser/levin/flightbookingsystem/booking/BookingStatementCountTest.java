@@ -0,0 +1,105 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.booking;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.passenger;
+import static ch.fankhauser.levin.flightbookingsystem.security.TestTokens.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.fankhauser.levin.flightbookingsystem.ApiTest;
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import ch.fankhauser.levin.flightbookingsystem.passenger.Passenger;
+import ch.fankhauser.levin.flightbookingsystem.passenger.PassengerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Counts the statements of whole requests, including serialization of the response, so that lazy associations touched
+ * after the repository call show up as well.
+ */
+@ApiTest
+class BookingStatementCountTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	@Autowired
+	private PassengerRepository passengerRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private BookingPageCache bookingPageCache;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private String username;
+	private Long bookingId;
+
+	@BeforeEach
+	void setUp() {
+		username = "statements-" + UUID.randomUUID();
+		for (int i = 0; i < 5; i++) {
+			Airplane airplane = airplaneRepository.save(airplane());
+			Flight first = flightRepository.save(flight(airplane, "ZRH", "FRA", DAY.plusHours(i), DAY.plusHours(i + 1)));
+			Flight second = flightRepository.save(flight(airplane, "FRA", "JFK", DAY.plusHours(i + 2), DAY.plusHours(i + 3)));
+			Passenger passenger = passengerRepository.save(passenger("Max" + i, username));
+			bookingId = bookingRepository.save(booking(passenger, first, i % 2 == 0 ? second : null, DAY, username)).getId();
+		}
+	}
+
+	private long statementsToRender(String path, String role) throws Exception {
+		String authorization = bearer(username, role);
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		bookingPageCache.evictAll();
+		sessionFactory.getStatistics().clear();
+		mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isOk());
+		return sessionFactory.getStatistics().getPrepareStatementCount();
+	}
+
+	@Test
+	void userBookingList_runsOneStatement() throws Exception {
+		assertThat(statementsToRender("/api/booking", "user")).isEqualTo(1);
+	}
+
+	@Test
+	void adminBookingList_runsOneStatement() throws Exception {
+		assertThat(statementsToRender("/api/admin/booking", "admin")).isEqualTo(1);
+	}
+
+	@Test
+	void bookingDetail_runsOneStatement() throws Exception {
+		assertThat(statementsToRender("/api/booking/" + bookingId, "user")).isEqualTo(1);
+		assertThat(statementsToRender("/api/admin/booking/" + bookingId, "admin")).isEqualTo(1);
+	}
+
+	@Test
+	void flightList_runsOneStatement() throws Exception {
+		assertThat(statementsToRender("/api/flight", "user")).isEqualTo(1);
+	}
+}
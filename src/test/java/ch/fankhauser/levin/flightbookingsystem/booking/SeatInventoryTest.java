@@ -0,0 +1,128 @@
+package ch.fankhauser.levin.flightbookingsystem.booking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class SeatInventoryTest {
+
+	private FlightRepository flightRepository;
+	private BookingRepository bookingRepository;
+	private SeatInventory seatInventory;
+
+	@BeforeEach
+	void setUp() {
+		flightRepository = mock(FlightRepository.class);
+		bookingRepository = mock(BookingRepository.class);
+		seatInventory = new SeatInventory(flightRepository, bookingRepository);
+	}
+
+	private void givenFlight(long id, int seatCapacity, long bookedSeats) {
+		when(flightRepository.findSeatCapacityById(id)).thenReturn(Optional.of(seatCapacity));
+		when(bookingRepository.countByFlightId(id)).thenReturn(bookedSeats);
+	}
+
+	@Test
+	void reserve_isSeededLazilyFromBookedSeats() {
+		givenFlight(1L, 3, 2L);
+
+		seatInventory.reserve(List.of(1L));
+
+		assertThatThrownBy(() -> seatInventory.reserve(List.of(1L))).isInstanceOf(FlightFullyBookedException.class);
+		verify(bookingRepository, times(1)).countByFlightId(1L);
+	}
+
+	@Test
+	void reserve_loadsTheCapacityOnce() {
+		givenFlight(1L, 3, 0L);
+
+		seatInventory.reserve(List.of(1L));
+		seatInventory.reserve(List.of(1L));
+
+		verify(flightRepository, times(1)).findSeatCapacityById(1L);
+	}
+
+	@Test
+	void refreshCapacity_appliesToFurtherReservations() {
+		givenFlight(1L, 3, 1L);
+		seatInventory.reserve(List.of(1L));
+		when(flightRepository.findSeatCapacityById(1L)).thenReturn(Optional.of(2));
+
+		seatInventory.refreshCapacity(1L);
+
+		assertThatThrownBy(() -> seatInventory.reserve(List.of(1L))).isInstanceOf(FlightFullyBookedException.class);
+	}
+
+	@Test
+	void evict_reseedsTheCounterOnNextUse() {
+		givenFlight(1L, 1, 0L);
+		seatInventory.reserve(List.of(1L));
+
+		seatInventory.evict(1L);
+
+		seatInventory.reserve(List.of(1L));
+		verify(bookingRepository, times(2)).countByFlightId(1L);
+	}
+
+	@Test
+	void reserve_releasesAcquiredLegsWhenALaterLegIsFull() {
+		givenFlight(1L, 1, 0L);
+		givenFlight(2L, 1, 1L);
+
+		assertThatThrownBy(() -> seatInventory.reserve(List.of(1L, 2L))).isInstanceOf(FlightFullyBookedException.class);
+
+		seatInventory.reserve(List.of(1L));
+	}
+
+	@Test
+	void release_makesSeatsAvailableAgain() {
+		givenFlight(1L, 1, 0L);
+		seatInventory.reserve(List.of(1L));
+
+		seatInventory.release(List.of(1L));
+
+		seatInventory.reserve(List.of(1L));
+	}
+
+	@Test
+	void reserve_neverOverbooksUnderContention() throws Exception {
+		givenFlight(1L, 50, 0L);
+		AtomicInteger succeeded = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<?>> futures = IntStream.range(0, 500)
+					.<Future<?>>mapToObj(i -> executor.submit(() -> {
+						try {
+							seatInventory.reserve(List.of(1L));
+							succeeded.incrementAndGet();
+						} catch (FlightFullyBookedException e) {
+							// expected once the flight is full
+						}
+					}))
+					.toList();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(succeeded.get()).isEqualTo(50);
+		verify(bookingRepository, times(1)).countByFlightId(1L);
+	}
+}
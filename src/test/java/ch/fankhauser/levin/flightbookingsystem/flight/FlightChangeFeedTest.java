@@ -0,0 +1,139 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.base.Cursor;
+import ch.fankhauser.levin.flightbookingsystem.base.CursorExpiredException;
+import ch.fankhauser.levin.flightbookingsystem.base.InvalidCursorException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightChangeFeedTest {
+
+	private static final LocalDateTime DEPARTURE = LocalDateTime.of(2025, 6, 1, 7, 0);
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	@Autowired
+	private FlightTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	private FlightChangeFeed flightChangeFeed;
+	private Airplane airplane;
+
+	@BeforeEach
+	void setUp() {
+		flightChangeFeed = new FlightChangeFeed(flightRepository, tombstoneRepository, Duration.ZERO, Duration.ofDays(30));
+
+		airplane = airplaneRepository.save(airplane());
+	}
+
+	@AfterEach
+	void tearDown() {
+		flightRepository.deleteAll();
+		airplaneRepository.deleteAll();
+		tombstoneRepository.deleteAll();
+	}
+
+	private Flight createFlight(String destination) {
+		return flightRepository.save(flight(airplane, "ZRH", destination, DEPARTURE, DEPARTURE.plusHours(2)));
+	}
+
+	private void awaitNextTick() throws InterruptedException {
+		Thread.sleep(2);
+	}
+
+	@Test
+	void findChanges_returnsOnlyChangesSinceTheCursorInOrder() throws Exception {
+		Flight unchanged = createFlight("LHR");
+		Flight updated = createFlight("CDG");
+		Flight deleted = createFlight("AMS");
+		awaitNextTick();
+		String since = flightChangeFeed.findChanges(null, null).nextCursor();
+
+		awaitNextTick();
+		updated.setDestination("FRA");
+		flightRepository.save(updated);
+		awaitNextTick();
+		flightRepository.deleteById(deleted.getId());
+		flightChangeFeed.recordDeletion(deleted.getId());
+		Flight created = createFlight("VIE");
+		awaitNextTick();
+
+		FlightChangePage page = flightChangeFeed.findChanges(since, null);
+
+		assertThat(page.changes()).extracting(FlightChange::type, FlightChange::id).containsExactly(
+				tuple(FlightChange.Type.UPDATED, updated.getId()),
+				tuple(FlightChange.Type.DELETED, deleted.getId()),
+				tuple(FlightChange.Type.CREATED, created.getId()));
+		assertThat(page.changes()).extracting(FlightChange::id).doesNotContain(unchanged.getId());
+		assertThat(page.hasMore()).isFalse();
+		assertThat(flightChangeFeed.findChanges(page.nextCursor(), null).changes()).isEmpty();
+	}
+
+	@Test
+	void findChanges_pagesWithoutGapsOrDuplicates() throws Exception {
+		for (String destination : new String[] { "LHR", "CDG", "AMS", "FRA", "VIE" }) {
+			createFlight(destination);
+		}
+		awaitNextTick();
+
+		FlightChangePage first = flightChangeFeed.findChanges(null, 2);
+		FlightChangePage second = flightChangeFeed.findChanges(first.nextCursor(), 2);
+		FlightChangePage third = flightChangeFeed.findChanges(second.nextCursor(), 2);
+
+		assertThat(first.hasMore()).isTrue();
+		assertThat(second.hasMore()).isTrue();
+		assertThat(third.hasMore()).isFalse();
+		assertThat(first.changes().size() + second.changes().size() + third.changes().size()).isEqualTo(5);
+		assertThat(third.changes()).extracting(FlightChange::flight).extracting(Flight::getDestination).containsExactly("VIE");
+	}
+
+	@Test
+	void findChanges_holdsBackChangesYoungerThanTheSettleTime() {
+		FlightChangeFeed settlingFeed = new FlightChangeFeed(flightRepository, tombstoneRepository, Duration.ofMinutes(1), Duration.ofDays(30));
+		createFlight("LHR");
+
+		assertThat(settlingFeed.findChanges(null, null).changes()).isEmpty();
+	}
+
+	@Test
+	void findChanges_rejectsCursorsOlderThanTheTombstoneRetention() {
+		String expired = Cursor.encodeChange(FlightChangeFeed.now().minusDays(31), 1L);
+
+		assertThatThrownBy(() -> flightChangeFeed.findChanges(expired, null)).isInstanceOf(CursorExpiredException.class);
+	}
+
+	@Test
+	void findChanges_rejectsListCursors() {
+		String listCursor = Cursor.encode(DEPARTURE, 1L);
+
+		assertThatThrownBy(() -> flightChangeFeed.findChanges(listCursor, null)).isInstanceOf(InvalidCursorException.class);
+	}
+
+	@Test
+	void findChanges_returnsCursorsThatTheFlightListRejects() {
+		String changeCursor = flightChangeFeed.findChanges(null, null).nextCursor();
+
+		assertThatThrownBy(() -> Cursor.decodePosition(changeCursor)).isInstanceOf(InvalidCursorException.class);
+	}
+}
@@ -0,0 +1,136 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class FlightEventBroadcasterTest {
+
+	private static final LocalDateTime DEPARTURE = LocalDateTime.of(2025, 6, 1, 7, 0);
+
+	private FlightEventBroadcaster broadcaster;
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new FlightEventBroadcaster(4, Duration.ofHours(1));
+		registry = new SimpleMeterRegistry();
+		broadcaster.bindTo(registry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.shutdown();
+	}
+
+	private static FlightChange change(long id) {
+		return new FlightChange(FlightChange.Type.UPDATED, id, DEPARTURE, null);
+	}
+
+	private static FlightLeg leg(long id, String origin, String destination) {
+		return new FlightLeg(id, origin, destination, DEPARTURE, DEPARTURE.plusHours(2));
+	}
+
+	@Test
+	void subscribe_receivesOnlyChangesOfMatchingRoutes() {
+		List<ServerSentEvent<Object>> fromZurich = new CopyOnWriteArrayList<>();
+		List<ServerSentEvent<Object>> toLondon = new CopyOnWriteArrayList<>();
+		Disposable first = broadcaster.subscribe("ZRH", null).subscribe(fromZurich::add);
+		Disposable second = broadcaster.subscribe(null, "LHR").subscribe(toLondon::add);
+
+		broadcaster.publish(change(1), leg(1, "ZRH", "CDG"));
+		broadcaster.publish(change(2), leg(2, "GVA", "LHR"));
+		broadcaster.publish(change(3), leg(3, "GVA", "AMS"));
+
+		assertThat(fromZurich).extracting(event -> ((FlightChange) event.data()).id()).containsExactly(1L);
+		assertThat(toLondon).extracting(event -> ((FlightChange) event.data()).id()).containsExactly(2L);
+		assertThat(fromZurich).extracting(ServerSentEvent::event).containsExactly("updated");
+		first.dispose();
+		second.dispose();
+	}
+
+	@Test
+	void subscribe_sharesTheHeartbeatAcrossSubscribers() throws Exception {
+		FlightEventBroadcaster beating = new FlightEventBroadcaster(4, Duration.ofMillis(10));
+		CountDownLatch keepAlives = new CountDownLatch(2);
+		try {
+			Disposable first = beating.subscribe("ZRH", null).take(1).subscribe(event -> keepAlives.countDown());
+			Disposable second = beating.subscribe("GVA", null).take(1).subscribe(event -> keepAlives.countDown());
+
+			assertThat(keepAlives.await(5, TimeUnit.SECONDS)).isTrue();
+			first.dispose();
+			second.dispose();
+		} finally {
+			beating.shutdown();
+		}
+	}
+
+	@Test
+	void publish_reachesSubscribersOfThePreviousRoute() {
+		List<ServerSentEvent<Object>> toLondon = new CopyOnWriteArrayList<>();
+		Disposable subscription = broadcaster.subscribe("ZRH", "LHR").subscribe(toLondon::add);
+
+		broadcaster.publish(change(1), leg(1, "ZRH", "LHR"), leg(1, "ZRH", "CDG"));
+
+		assertThat(toLondon).hasSize(1);
+		subscription.dispose();
+	}
+
+	@Test
+	void subscribe_endsOverflowingSubscribersWithAResyncWithoutHoldingBackOthers() {
+		RecordingSubscriber slow = new RecordingSubscriber();
+		RecordingSubscriber fast = new RecordingSubscriber();
+		broadcaster.subscribe(null, null).subscribe(slow);
+		broadcaster.subscribe(null, null).subscribe(fast);
+		fast.request(Long.MAX_VALUE);
+		assertThat(registry.get("flight.events.subscribers").gauge().value()).isEqualTo(2);
+
+		for (long id = 1; id <= 5; id++) {
+			broadcaster.publish(change(id), leg(id, "ZRH", "LHR"));
+		}
+		slow.request(Long.MAX_VALUE);
+
+		assertThat(fast.events).hasSize(5);
+		assertThat(slow.events).extracting(ServerSentEvent::event)
+				.containsExactly("updated", "updated", "updated", "updated", FlightEventBroadcaster.RESYNC);
+		assertThat(slow.completed).isTrue();
+		assertThat(registry.get("flight.events.resyncs").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("flight.events.subscribers").gauge().value()).isEqualTo(1);
+		fast.dispose();
+	}
+
+	private static class RecordingSubscriber extends BaseSubscriber<ServerSentEvent<Object>> {
+
+		private final List<ServerSentEvent<Object>> events = new CopyOnWriteArrayList<>();
+		private volatile boolean completed;
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			// Requests nothing until the test does.
+		}
+
+		@Override
+		protected void hookOnNext(ServerSentEvent<Object> event) {
+			events.add(event);
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			completed = true;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@DataJpaTest
+class FlightRepositoryTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	private Airplane airplane;
+
+	@BeforeEach
+	void setUp() {
+		airplane = airplaneRepository.save(airplane());
+	}
+
+	private Flight createFlight(String origin, String destination, LocalDateTime departure) {
+		return flight(airplane, origin, destination, departure, departure.plusHours(2));
+	}
+
+	@Test
+	void testSearchByRouteAndDepartureWindow() {
+		Flight late = createFlight("ZRH", "LHR", DAY.plusHours(18));
+		Flight early = createFlight("ZRH", "LHR", DAY.plusHours(7));
+		Flight otherRoute = createFlight("ZRH", "CDG", DAY.plusHours(9));
+		Flight nextDay = createFlight("ZRH", "LHR", DAY.plusDays(1).plusHours(7));
+
+		flightRepository.saveAll(List.of(late, early, otherRoute, nextDay));
+
+		List<Flight> result = flightRepository.findAllByOriginAndDestinationAndDepartureBetweenOrderByDepartureAscIdAsc(
+				"ZRH", "LHR", DAY, DAY.plusDays(1), Limit.of(10));
+
+		assertThat(result).extracting(Flight::getDeparture).containsExactly(DAY.plusHours(7), DAY.plusHours(18));
+	}
+
+	@Test
+	void testSearchAfterCursor() {
+		Flight first = createFlight("ZRH", "LHR", DAY.plusHours(7));
+		Flight second = createFlight("ZRH", "LHR", DAY.plusHours(7));
+		Flight third = createFlight("ZRH", "LHR", DAY.plusHours(12));
+
+		flightRepository.saveAll(List.of(first, second, third));
+
+		List<Flight> result = flightRepository.searchAfter("ZRH", "LHR", DAY.plusDays(1), first.getDeparture(), first.getId(), Limit.of(10));
+
+		assertThat(result).extracting(Flight::getId).containsExactly(second.getId(), third.getId());
+	}
+
+	@Test
+	void testFindAllAfterOrdersByDepartureThenId() {
+		Flight late = createFlight("ZRH", "LHR", DAY.plusHours(18));
+		Flight early = createFlight("GVA", "BER", DAY.plusHours(6));
+
+		flightRepository.saveAll(List.of(late, early));
+
+		List<Flight> firstPage = flightRepository.findAllByOrderByDepartureAscIdAsc(Limit.of(1));
+		List<Flight> secondPage = flightRepository.findAllAfter(firstPage.get(0).getDeparture(), firstPage.get(0).getId(), Limit.of(1));
+
+		assertThat(firstPage).extracting(Flight::getOrigin).containsExactly("GVA");
+		assertThat(secondPage).extracting(Flight::getOrigin).containsExactly("ZRH");
+	}
+}
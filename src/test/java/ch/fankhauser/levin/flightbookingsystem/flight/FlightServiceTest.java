@@ -0,0 +1,196 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.base.OptimisticRetry;
+import ch.fankhauser.levin.flightbookingsystem.base.PreconditionFailedException;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FlightServiceTest {
+
+	private static final LocalDateTime DEPARTURE = LocalDateTime.of(2025, 6, 1, 7, 0);
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	@Autowired
+	private FlightTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private FlightService flightService;
+	private FlightCollectionVersion flightCollectionVersion;
+	private RouteGraph routeGraph;
+	private SeatInventory seatInventory;
+	private Airplane airplane;
+	private Flight flight;
+
+	@BeforeEach
+	void setUp() {
+		flightCollectionVersion = new FlightCollectionVersion();
+		seatInventory = mock(SeatInventory.class);
+		routeGraph = new RouteGraph(flightRepository, seatInventory, Duration.ofMinutes(45), Duration.ofHours(12), Duration.ofHours(24), 10, 20000);
+		flightService = new FlightService(flightRepository, routeGraph, new BookingPageCache(100, Duration.ofMinutes(5)), seatInventory,
+				flightCollectionVersion, new FlightChangeFeed(flightRepository, tombstoneRepository, Duration.ZERO, Duration.ofDays(30)),
+				new FlightEventBroadcaster(16, Duration.ofSeconds(15)));
+
+		airplane = airplaneRepository.save(airplane());
+		flight = flightRepository.save(flight(airplane, "ZRH", "LHR", DEPARTURE, DEPARTURE.plusHours(2)));
+		routeGraph.put(FlightLeg.of(flight));
+	}
+
+	@AfterEach
+	void tearDown() {
+		flightRepository.deleteAll();
+		airplaneRepository.deleteAll();
+		tombstoneRepository.deleteAll();
+	}
+
+	private FlightRequestDTO request(String destination) {
+		return new FlightRequestDTO(airplane, "ZRH", destination, DEPARTURE, DEPARTURE.plusHours(2));
+	}
+
+	@Test
+	void updateFlight_withMatchingVersionIncrementsVersion() {
+		Flight updated = flightService.updateFlight(flight.getId(), request("CDG"), flight.getVersion());
+
+		assertThat(updated.getVersion()).isEqualTo(flight.getVersion() + 1);
+		assertThat(flightRepository.findById(flight.getId())).get().extracting(Flight::getDestination).isEqualTo("CDG");
+	}
+
+	@Test
+	void updateFlight_bumpsTheCollectionVersion() {
+		String eTag = flightCollectionVersion.eTag();
+
+		flightService.updateFlight(flight.getId(), request("CDG"));
+
+		assertThat(flightCollectionVersion.eTag()).isNotEqualTo(eTag);
+	}
+
+	@Test
+	void updateFlight_refreshesTheSeatCapacity() {
+		flightService.updateFlight(flight.getId(), request("CDG"));
+
+		verify(seatInventory).refreshCapacity(flight.getId());
+	}
+
+	@Test
+	void updateFlight_withStaleVersionFailsWithoutWriting() {
+		flightService.updateFlight(flight.getId(), request("CDG"));
+
+		assertThatThrownBy(() -> flightService.updateFlight(flight.getId(), request("AMS"), flight.getVersion()))
+				.isInstanceOf(PreconditionFailedException.class);
+		assertThat(flightRepository.findById(flight.getId())).get().extracting(Flight::getDestination).isEqualTo("CDG");
+	}
+
+	@Test
+	void updateFlight_rejectsStaleCopies() {
+		Flight stale = flightRepository.findById(flight.getId()).orElseThrow();
+		flightService.updateFlight(flight.getId(), request("CDG"));
+
+		stale.setDestination("AMS");
+
+		assertThatThrownBy(() -> flightRepository.save(stale)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+	}
+
+	@Test
+	void updateFlight_doesNotCreateMissingFlights() {
+		long flights = flightRepository.count();
+
+		assertThatThrownBy(() -> flightService.updateFlight(flight.getId() + 1000, request("CDG")))
+				.isInstanceOf(EntityNotFoundException.class);
+		assertThat(flightRepository.count()).isEqualTo(flights);
+	}
+
+	@Test
+	void deleteFlight_leavesATombstone() {
+		flightService.deleteFlight(flight.getId());
+
+		assertThat(flightRepository.existsById(flight.getId())).isFalse();
+		assertThat(tombstoneRepository.existsById(flight.getId())).isTrue();
+	}
+
+	@Test
+	void deleteFlight_changesNeitherTagNorGraphWhenRolledBack() {
+		String eTag = flightCollectionVersion.eTag();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			flightService.deleteFlight(flight.getId());
+			status.setRollbackOnly();
+		});
+
+		assertThat(flightRepository.existsById(flight.getId())).isTrue();
+		assertThat(flightCollectionVersion.eTag()).isEqualTo(eTag);
+		assertThat(routeGraph.findConnections("ZRH", "LHR", DEPARTURE.minusHours(1))).hasSize(1);
+		verify(seatInventory, never()).evict(any());
+	}
+
+	@Test
+	void deleteFlight_bumpsTagAndGraphAfterCommit() {
+		String eTag = flightCollectionVersion.eTag();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> flightService.deleteFlight(flight.getId()));
+
+		assertThat(flightCollectionVersion.eTag()).isNotEqualTo(eTag);
+		assertThat(routeGraph.findConnections("ZRH", "LHR", DEPARTURE.minusHours(1))).isEmpty();
+		verify(seatInventory).evict(flight.getId());
+	}
+
+	@Test
+	void updating_retriesUnconditionalUpdatesOnly() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = OptimisticRetry.updating(null, () -> {
+			if (attempts.incrementAndGet() < OptimisticRetry.MAX_ATTEMPTS) {
+				throw new OptimisticLockingFailureException("conflict");
+			}
+			return "saved";
+		});
+
+		assertThat(result).isEqualTo("saved");
+		assertThatThrownBy(() -> OptimisticRetry.updating(1L, () -> {
+			throw new OptimisticLockingFailureException("conflict");
+		})).isInstanceOf(PreconditionFailedException.class);
+	}
+
+	@Test
+	void updateFlight_refusesToRunInsideATransaction() {
+		assertThatThrownBy(() -> new TransactionTemplate(transactionManager)
+				.executeWithoutResult(status -> flightService.updateFlight(flight.getId(), request("CDG"))))
+				.isInstanceOf(IllegalStateException.class);
+
+		assertThat(flightRepository.findById(flight.getId())).get().extracting(Flight::getDestination).isEqualTo("LHR");
+	}
+}
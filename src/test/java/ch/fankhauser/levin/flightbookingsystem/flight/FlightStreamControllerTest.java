@@ -0,0 +1,105 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.airplane;
+import static ch.fankhauser.levin.flightbookingsystem.TestEntities.flight;
+import static ch.fankhauser.levin.flightbookingsystem.security.TestTokens.bearer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.fankhauser.levin.flightbookingsystem.ApiTest;
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.security.Roles;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@ApiTest
+class FlightStreamControllerTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private AirplaneRepository airplaneRepository;
+
+	@Autowired
+	private FlightRepository flightRepository;
+
+	private Airplane airplane;
+
+	@BeforeEach
+	void setUp() {
+		airplane = airplaneRepository.save(airplane());
+		flightRepository.saveAll(List.of(
+				flight(airplane, "ZRH", "JFK", DAY.plusDays(1).plusHours(9), DAY.plusDays(1).plusHours(18)),
+				flight(airplane, "ZRH", "JFK", DAY.plusHours(14), DAY.plusHours(23)),
+				flight(airplane, "ZRH", "JFK", DAY.plusHours(9), DAY.plusHours(18)),
+				flight(airplane, "ZRH", "LHR", DAY.plusHours(9), DAY.plusHours(11)),
+				flight(airplane, "ZRH", "JFK", DAY.plusDays(3).plusHours(9), DAY.plusDays(3).plusHours(18))));
+	}
+
+	@AfterEach
+	void tearDown() {
+		flightRepository.deleteAllInBatch(flightRepository.findAllByAirplaneId(airplane.getId()));
+		airplaneRepository.delete(airplane);
+	}
+
+	private MockHttpServletRequestBuilder search(LocalDateTime from, LocalDateTime to) {
+		return get("/api/flight/stream/search").accept(MediaType.APPLICATION_NDJSON)
+				.param("origin", "ZRH").param("destination", "JFK")
+				.param("from", from.toString()).param("to", to.toString());
+	}
+
+	@Test
+	void streamFlights_writesOneFlightPerLineInDepartureOrder() throws Exception {
+		MvcResult result = mockMvc.perform(search(DAY, DAY.plusDays(2)).header(HttpHeaders.AUTHORIZATION, bearer("stream-user", Roles.User)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		result.getAsyncResult();
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+		List<JsonNode> flights = new ArrayList<>();
+		for (String line : result.getResponse().getContentAsString().split("\n")) {
+			flights.add(objectMapper.readTree(line));
+		}
+		assertThat(flights).extracting(flight -> flight.get("departure").asText())
+				.containsExactly("2025-06-01T09:00:00", "2025-06-01T14:00:00", "2025-06-02T09:00:00");
+		assertThat(flights).allSatisfy(flight -> {
+			assertThat(flight.get("destination").asText()).isEqualTo("JFK");
+			assertThat(flight.get("airplane").get("seatCapacity").asInt()).isEqualTo(180);
+		});
+	}
+
+	@Test
+	void streamFlights_rejectsAnInvertedWindow() throws Exception {
+		mockMvc.perform(search(DAY, DAY.minusDays(1)).header(HttpHeaders.AUTHORIZATION, bearer("stream-user", Roles.User)))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void streamFlights_requiresAuthentication() throws Exception {
+		mockMvc.perform(search(DAY, DAY.plusDays(1)))
+				.andExpect(status().isUnauthorized());
+	}
+}
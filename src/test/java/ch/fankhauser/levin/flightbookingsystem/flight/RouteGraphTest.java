@@ -0,0 +1,110 @@
+package ch.fankhauser.levin.flightbookingsystem.flight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import ch.fankhauser.levin.flightbookingsystem.booking.SeatInventory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class RouteGraphTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+	private SeatInventory seatInventory;
+	private RouteGraph routeGraph;
+
+	@BeforeEach
+	void setUp() {
+		seatInventory = mock(SeatInventory.class);
+		routeGraph = new RouteGraph(mock(FlightRepository.class), seatInventory, Duration.ofMinutes(45), Duration.ofHours(12), Duration.ofHours(24), 10, 20000);
+	}
+
+	private static FlightLeg leg(long id, String origin, String destination, int departureHour, int arrivalHour) {
+		return new FlightLeg(id, origin, destination, DAY.plusHours(departureHour), DAY.plusHours(arrivalHour));
+	}
+
+	@Test
+	void findConnections_returnsDirectAndConnectingItinerariesEarliestArrivalFirst() {
+		routeGraph.put(leg(1, "ZRH", "JFK", 10, 20));
+		routeGraph.put(leg(2, "ZRH", "LHR", 7, 8));
+		routeGraph.put(leg(3, "LHR", "JFK", 10, 17));
+
+		List<Itinerary> result = routeGraph.findConnections("ZRH", "JFK", DAY);
+
+		assertThat(result).extracting(itinerary -> itinerary.legs().stream().map(FlightLeg::id).toList())
+				.containsExactly(List.of(2L, 3L), List.of(1L));
+	}
+
+	@Test
+	void findConnections_respectsMinimumConnectionTime() {
+		routeGraph.put(leg(1, "ZRH", "LHR", 7, 9));
+		routeGraph.put(leg(2, "LHR", "JFK", 9, 16));
+
+		assertThat(routeGraph.findConnections("ZRH", "JFK", DAY)).isEmpty();
+	}
+
+	@Test
+	void findConnections_findsThreeLegItinerariesButNoMore() {
+		routeGraph.put(leg(1, "ZRH", "FRA", 6, 7));
+		routeGraph.put(leg(2, "FRA", "LHR", 8, 9));
+		routeGraph.put(leg(3, "LHR", "JFK", 10, 17));
+		routeGraph.put(leg(4, "ZRH", "VIE", 5, 6));
+		routeGraph.put(leg(5, "VIE", "FRA", 7, 8));
+		routeGraph.put(leg(6, "FRA", "LHR", 9, 10));
+		routeGraph.put(leg(7, "LHR", "JFK", 11, 18));
+
+		List<Itinerary> result = routeGraph.findConnections("ZRH", "JFK", DAY);
+
+		assertThat(result).allSatisfy(itinerary -> assertThat(itinerary.legs()).hasSizeLessThanOrEqualTo(3));
+		assertThat(result.get(0).legs()).extracting(FlightLeg::id).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	void findConnections_findsTheEarliestArrivalBeforeTheBudgetRunsOut() {
+		RouteGraph budgeted = new RouteGraph(mock(FlightRepository.class), seatInventory, Duration.ofMinutes(45), Duration.ofHours(12), Duration.ofHours(24), 10, 2);
+		budgeted.put(leg(1, "ZRH", "FRA", 6, 7));
+		budgeted.put(leg(2, "FRA", "CDG", 8, 18));
+		budgeted.put(leg(3, "FRA", "AMS", 8, 18));
+		budgeted.put(leg(4, "FRA", "VIE", 8, 18));
+		budgeted.put(leg(5, "ZRH", "JFK", 8, 16));
+
+		List<Itinerary> result = budgeted.findConnections("ZRH", "JFK", DAY);
+
+		assertThat(result).extracting(itinerary -> itinerary.legs().stream().map(FlightLeg::id).toList())
+				.containsExactly(List.of(5L));
+	}
+
+	@Test
+	void evictDepartedBefore_dropsDepartedFlightsOnly() {
+		routeGraph.put(leg(1, "ZRH", "JFK", 6, 14));
+		routeGraph.put(leg(2, "ZRH", "JFK", 10, 18));
+
+		routeGraph.evictDepartedBefore(DAY.plusHours(8));
+
+		assertThat(routeGraph.findConnections("ZRH", "JFK", DAY)).extracting(itinerary -> itinerary.legs().get(0).id())
+				.containsExactly(2L);
+		verify(seatInventory).evict(1L);
+		verify(seatInventory, never()).evict(2L);
+	}
+
+	@Test
+	void putAndRemove_updateTheGraphIncrementally() {
+		routeGraph.put(leg(1, "ZRH", "JFK", 10, 20));
+		routeGraph.put(leg(1, "ZRH", "BOS", 10, 19));
+
+		assertThat(routeGraph.findConnections("ZRH", "JFK", DAY)).isEmpty();
+		assertThat(routeGraph.findConnections("ZRH", "BOS", DAY)).hasSize(1);
+
+		routeGraph.remove(1L);
+
+		assertThat(routeGraph.findConnections("ZRH", "BOS", DAY)).isEmpty();
+	}
+}
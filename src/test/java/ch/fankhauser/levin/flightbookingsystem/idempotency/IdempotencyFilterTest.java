@@ -0,0 +1,153 @@
+package ch.fankhauser.levin.flightbookingsystem.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyFilterTest {
+
+	@Autowired
+	private IdempotentResponseRepository repository;
+
+	private final AtomicInteger executions = new AtomicInteger();
+	private IdempotencyStore store;
+
+	@BeforeEach
+	void setUp() {
+		store = newStore();
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user1", null, "ROLE_user"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		repository.deleteAll();
+	}
+
+	private IdempotencyStore newStore() {
+		return new IdempotencyStore(repository, 100, Duration.ofHours(1));
+	}
+
+	private MockHttpServletResponse post(IdempotencyStore idempotencyStore, String key, String body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/passenger");
+		request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		new IdempotencyFilter(idempotencyStore, Set.of("/api/passenger")).doFilter(request, response, (req, res) -> {
+			String received = new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+			res.setContentType("application/json");
+			res.getWriter().write("{\"id\": " + executions.incrementAndGet() + ", \"received\": " + received + "}");
+		});
+		return response;
+	}
+
+	@Test
+	void cachedBodyCanBeReadWithAReadListener() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/passenger");
+		request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-1");
+		request.setAsyncSupported(true);
+		request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+		ByteArrayOutputStream received = new ByteArrayOutputStream();
+		AtomicBoolean allDataRead = new AtomicBoolean();
+
+		new IdempotencyFilter(store, Set.of("/api/passenger")).doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+			req.startAsync();
+			ServletInputStream input = req.getInputStream();
+			input.setReadListener(new ReadListener() {
+
+				@Override
+				public void onDataAvailable() throws IOException {
+					while (input.isReady() && !input.isFinished()) {
+						received.write(input.read());
+					}
+				}
+
+				@Override
+				public void onAllDataRead() {
+					allDataRead.set(true);
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+				}
+			});
+		});
+
+		assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo("{}");
+		assertThat(allDataRead).isTrue();
+	}
+
+	@Test
+	void retryReturnsTheFirstResponseWithoutExecutingAgain() throws Exception {
+		MockHttpServletResponse first = post(store, "key-1", "{\"lastname\": \"Doe\"}");
+		MockHttpServletResponse retry = post(store, "key-1", "{\"lastname\": \"Doe\"}");
+
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(first.getContentAsString()).isEqualTo("{\"id\": 1, \"received\": {\"lastname\": \"Doe\"}}");
+		assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+		assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+	}
+
+	@Test
+	void storedResponsesSurviveTheInMemoryCache() throws Exception {
+		post(store, "key-1", "{}");
+
+		MockHttpServletResponse retry = post(newStore(), "key-1", "{}");
+
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(retry.getContentAsString()).isEqualTo("{\"id\": 1, \"received\": {}}");
+	}
+
+	@Test
+	void keysAreScopedPerUser() throws Exception {
+		post(store, "key-1", "{}");
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user2", null, "ROLE_user"));
+
+		post(store, "key-1", "{}");
+
+		assertThat(executions.get()).isEqualTo(2);
+	}
+
+	@Test
+	void reusingAKeyForADifferentRequestIsRejected() throws Exception {
+		post(store, "key-1", "{\"lastname\": \"Doe\"}");
+
+		MockHttpServletResponse response = post(store, "key-1", "{\"lastname\": \"Roe\"}");
+
+		assertThat(response.getStatus()).isEqualTo(422);
+		assertThat(executions.get()).isEqualTo(1);
+	}
+
+	@Test
+	void purgeRemovesExpiredResponses() throws Exception {
+		post(store, "key-1", "{}");
+		IdempotencyStore expiringStore = new IdempotencyStore(repository, 100, Duration.ZERO);
+
+		expiringStore.purge();
+
+		assertThat(repository.count()).isZero();
+	}
+}
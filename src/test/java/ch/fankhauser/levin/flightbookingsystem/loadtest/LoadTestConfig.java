@@ -0,0 +1,74 @@
+package ch.fankhauser.levin.flightbookingsystem.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+	@Bean
+	public RSAKey loadTestSigningKey() throws JOSEException {
+		return new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+	}
+
+	@Bean
+	public JwtDecoder jwtDecoder(RSAKey loadTestSigningKey) throws JOSEException {
+		return NimbusJwtDecoder.withPublicKey(loadTestSigningKey.toRSAPublicKey()).build();
+	}
+
+	@Bean
+	public JwtEncoder loadTestJwtEncoder(RSAKey loadTestSigningKey) {
+		return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(loadTestSigningKey)));
+	}
+
+	/**
+	 * Simulates a slow database by delaying every statement while its connection is held.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer loadTestStatementLatency(@Value("${flight-booking.loadtest.statement-latency:0ms}") Duration latency) {
+		return properties -> {
+			if (!latency.isZero()) {
+				properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+					try {
+						Thread.sleep(latency);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return sql;
+				});
+			}
+		};
+	}
+
+	@Bean
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	protected SecurityFilterChain loadTestFilterChain(HttpSecurity http) throws Exception {
+		http.securityMatcher("/loadtest/**")
+				.authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll())
+				.csrf(AbstractHttpConfigurer::disable);
+		return http.build();
+	}
+}
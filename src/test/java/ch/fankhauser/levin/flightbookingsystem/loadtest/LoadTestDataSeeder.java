@@ -0,0 +1,105 @@
+package ch.fankhauser.levin.flightbookingsystem.loadtest;
+
+import ch.fankhauser.levin.flightbookingsystem.airplane.Airplane;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneCollectionVersion;
+import ch.fankhauser.levin.flightbookingsystem.airplane.AirplaneRepository;
+import ch.fankhauser.levin.flightbookingsystem.flight.Flight;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightCollectionVersion;
+import ch.fankhauser.levin.flightbookingsystem.flight.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Profile("loadtest")
+public class LoadTestDataSeeder implements ApplicationRunner {
+
+	public static final List<String> AIRPORTS = List.of("ZRH", "GVA", "BSL", "FRA", "MUC", "LHR", "CDG", "AMS", "JFK", "SFO");
+	private static final String CREATED_BY = "loadtest";
+	private static final Logger log = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+	private final AirplaneRepository airplaneRepository;
+	private final FlightRepository flightRepository;
+	private final AirplaneCollectionVersion airplaneCollectionVersion;
+	private final FlightCollectionVersion flightCollectionVersion;
+	private final int airplanes;
+	private final int days;
+	private final int flightsPerRouteAndDay;
+
+	public LoadTestDataSeeder(AirplaneRepository airplaneRepository, FlightRepository flightRepository,
+			AirplaneCollectionVersion airplaneCollectionVersion, FlightCollectionVersion flightCollectionVersion,
+			@Value("${flight-booking.loadtest.airplanes:20}") int airplanes,
+			@Value("${flight-booking.loadtest.days:14}") int days,
+			@Value("${flight-booking.loadtest.flights-per-route-and-day:2}") int flightsPerRouteAndDay) {
+		this.airplaneRepository = airplaneRepository;
+		this.flightRepository = flightRepository;
+		this.airplaneCollectionVersion = airplaneCollectionVersion;
+		this.flightCollectionVersion = flightCollectionVersion;
+		this.airplanes = airplanes;
+		this.days = days;
+		this.flightsPerRouteAndDay = flightsPerRouteAndDay;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (flightRepository.count() > 0) {
+			return;
+		}
+		List<Airplane> fleet = airplaneRepository.saveAll(createFleet());
+		airplaneCollectionVersion.bump();
+		LocalDate firstDay = LocalDate.now().plusDays(1);
+		int seeded = 0;
+		for (int day = 0; day < days; day++) {
+			List<Flight> flights = new ArrayList<>();
+			for (String origin : AIRPORTS) {
+				for (String destination : AIRPORTS) {
+					if (origin.equals(destination)) {
+						continue;
+					}
+					for (int slot = 0; slot < flightsPerRouteAndDay; slot++) {
+						LocalDateTime departure = firstDay.plusDays(day).atTime(6 + slot * 16 / flightsPerRouteAndDay, 0);
+						flights.add(createFlight(fleet.get((seeded + flights.size()) % fleet.size()), origin, destination, departure));
+					}
+				}
+			}
+			seeded += flightRepository.saveAll(flights).size();
+			flightCollectionVersion.bump();
+		}
+		log.info("Seeded {} airplanes and {} flights for load testing", fleet.size(), seeded);
+	}
+
+	private List<Airplane> createFleet() {
+		List<Airplane> fleet = new ArrayList<>(airplanes);
+		for (int i = 1; i <= airplanes; i++) {
+			Airplane airplane = new Airplane();
+			airplane.setBrand("Airbus");
+			airplane.setModel("A350-" + i);
+			airplane.setConstructionYear(2020);
+			airplane.setAirline("Load Test Air");
+			airplane.setSeatCapacity(1000);
+			airplane.setCreatedBy(CREATED_BY);
+			fleet.add(airplane);
+		}
+		return fleet;
+	}
+
+	private static Flight createFlight(Airplane airplane, String origin, String destination, LocalDateTime departure) {
+		Flight flight = new Flight();
+		flight.setAirplane(airplane);
+		flight.setOrigin(origin);
+		flight.setDestination(destination);
+		flight.setDeparture(departure);
+		flight.setArrival(departure.plusHours(2));
+		flight.setCreatedBy(CREATED_BY);
+		return flight;
+	}
+}
@@ -0,0 +1,80 @@
+package ch.fankhauser.levin.flightbookingsystem.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class LoadTestProfileTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private String token(String username, String role) throws Exception {
+		String body = mockMvc.perform(post("/loadtest/token").param("username", username).param("roles", role))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return "Bearer " + objectMapper.readTree(body).get("access_token").asText();
+	}
+
+	@Test
+	void jwks_publishesTheSigningKey() throws Exception {
+		mockMvc.perform(get("/loadtest/jwks"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.keys[0].kty").value("RSA"));
+	}
+
+	@Test
+	void mintedUserToken_isAcceptedForUserEndpoints() throws Exception {
+		String token = token("alice", "user");
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+		String body = mockMvc.perform(get("/api/flight/search").header(HttpHeaders.AUTHORIZATION, token)
+						.param("origin", "ZRH").param("destination", "JFK")
+						.param("from", tomorrow.atStartOfDay().toString()).param("to", tomorrow.plusDays(1).atStartOfDay().toString()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(objectMapper.readTree(body).get("items")).isNotEmpty();
+
+		mockMvc.perform(get("/api/booking").header(HttpHeaders.AUTHORIZATION, token))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void mintedUserToken_isDeniedForAdminEndpoints() throws Exception {
+		mockMvc.perform(get("/api/admin/booking").header(HttpHeaders.AUTHORIZATION, token("bob", "user")))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void flights_areNegotiatedAsCbor() throws Exception {
+		MediaType cbor = MediaType.parseMediaType("application/cbor");
+
+		byte[] body = mockMvc.perform(get("/api/flight").header(HttpHeaders.AUTHORIZATION, token("carol", "user")).accept(cbor))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(cbor))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(new CBORMapper().readTree(body).get("items")).isNotEmpty();
+	}
+}
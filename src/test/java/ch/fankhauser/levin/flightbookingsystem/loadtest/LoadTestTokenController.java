@@ -0,0 +1,70 @@
+package ch.fankhauser.levin.flightbookingsystem.loadtest;
+
+import ch.fankhauser.levin.flightbookingsystem.security.Roles;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Hidden
+@RestController
+@Profile("loadtest")
+@RequestMapping("/loadtest")
+public class LoadTestTokenController {
+
+	public static final String ISSUER = "http://localhost/loadtest";
+	public static final String CLIENT_ID = "flight-booking-system";
+
+	private final JwtEncoder loadTestJwtEncoder;
+	private final RSAKey loadTestSigningKey;
+	private final Duration tokenTtl;
+
+	public LoadTestTokenController(JwtEncoder loadTestJwtEncoder, RSAKey loadTestSigningKey,
+			@Value("${flight-booking.loadtest.token-ttl:12h}") Duration tokenTtl) {
+		this.loadTestJwtEncoder = loadTestJwtEncoder;
+		this.loadTestSigningKey = loadTestSigningKey;
+		this.tokenTtl = tokenTtl;
+	}
+
+	@PostMapping("/token")
+	public Map<String, Object> issueToken(@RequestParam String username, @RequestParam(defaultValue = Roles.User) List<String> roles) {
+		Instant now = Instant.now();
+		// AuthenticationRoleConverter maps client roles verbatim, so they carry the prefix @RolesAllowed expects.
+		List<String> clientRoles = roles.stream().map(role -> "ROLE_" + role).toList();
+		JwtClaimsSet claims = JwtClaimsSet.builder()
+				.issuer(ISSUER)
+				.subject(username)
+				.audience(List.of("account"))
+				.issuedAt(now)
+				.expiresAt(now.plus(tokenTtl))
+				.claim("typ", "Bearer")
+				.claim("azp", CLIENT_ID)
+				.claim("preferred_username", username)
+				.claim("resource_access", Map.of(CLIENT_ID, Map.of("roles", clientRoles)))
+				.build();
+		JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).keyId(loadTestSigningKey.getKeyID()).build();
+		String token = loadTestJwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+		return Map.of("access_token", token, "token_type", "Bearer", "expires_in", tokenTtl.toSeconds());
+	}
+
+	@GetMapping("/jwks")
+	public Map<String, Object> jwks() {
+		return new JWKSet(loadTestSigningKey.toPublicJWK()).toJSONObject();
+	}
+}
@@ -0,0 +1,52 @@
+package ch.fankhauser.levin.flightbookingsystem.passenger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingPageCache;
+import ch.fankhauser.levin.flightbookingsystem.booking.BookingResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PassengerAdminServiceTest {
+
+	private PassengerRepository passengerRepository;
+	private BookingPageCache bookingPageCache;
+	private PassengerAdminService passengerAdminService;
+
+	@BeforeEach
+	void setUp() {
+		passengerRepository = mock(PassengerRepository.class);
+		bookingPageCache = new BookingPageCache(100, Duration.ofMinutes(5));
+		passengerAdminService = new PassengerAdminService(passengerRepository, new PassengerPageCache(100, Duration.ofMinutes(5)), bookingPageCache);
+	}
+
+	@Test
+	void updatePassenger_evictsBookingPagesOfOtherUsers() {
+		Passenger passenger = new Passenger();
+		passenger.setId(1L);
+		passenger.setCreatedBy("owner");
+		when(passengerRepository.findById(1L)).thenReturn(Optional.of(passenger));
+		when(passengerRepository.save(any(Passenger.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		AtomicInteger loads = new AtomicInteger();
+		bookingPageCache.get("other", null, 50, () -> page(loads));
+
+		passengerAdminService.updatePassenger(1L, new PassengerAdminRequestDTO("Muster", "Max", 30, "CH", "owner"));
+		bookingPageCache.get("other", null, 50, () -> page(loads));
+
+		assertThat(loads).hasValue(2);
+	}
+
+	private static CursorPage<BookingResponseDTO> page(AtomicInteger loads) {
+		loads.incrementAndGet();
+		return new CursorPage<>(List.of(), null);
+	}
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +40,35 @@ class PassengerRepositoryTest {
 		assertThat(result).extracting(Passenger::getFirstname).containsExactlyInAnyOrder("Max", "Erika");
 	}
 
+	@Test
+	void testFindAllByCreatedByAndIdGreaterThanOrderByIdAsc() {
+		Passenger p1 = createPassenger("Max", "Mustermann", 30, "CH", "user1");
+		Passenger p2 = createPassenger("Erika", "Musterfrau", 25, "DE", "user1");
+		Passenger p3 = createPassenger("John", "Doe", 40, "US", "user2");
+		Passenger p4 = createPassenger("Lena", "Test", 28, "AT", "user1");
+
+		passengerRepository.saveAll(List.of(p1, p2, p3, p4));
+
+		List<Passenger> firstPage = passengerRepository.findAllByCreatedByAndIdGreaterThanOrderByIdAsc("user1", 0L, Limit.of(2));
+		List<Passenger> secondPage = passengerRepository.findAllByCreatedByAndIdGreaterThanOrderByIdAsc("user1", firstPage.get(1).getId(), Limit.of(2));
+
+		assertThat(firstPage).extracting(Passenger::getFirstname).containsExactly("Max", "Erika");
+		assertThat(secondPage).extracting(Passenger::getFirstname).containsExactly("Lena");
+	}
+
+	@Test
+	void testFindAllByIdGreaterThanOrderByIdAsc() {
+		Passenger p1 = createPassenger("Anna", "Admin", 22, "CH", "admin");
+		Passenger p2 = createPassenger("Bob", "Builder", 33, "DE", "user1");
+		Passenger p3 = createPassenger("Carl", "Clerk", 41, "FR", "user2");
+
+		passengerRepository.saveAll(List.of(p1, p2, p3));
+
+		List<Passenger> page = passengerRepository.findAllByIdGreaterThanOrderByIdAsc(p1.getId(), Limit.of(5));
+
+		assertThat(page).extracting(Passenger::getFirstname).containsExactly("Bob", "Carl");
+	}
+
 	@Test
 	void testFindByIdAndCreatedBy() {
 		Passenger passenger = createPassenger("Max", "Mustermann", 30, "CH", "user1");
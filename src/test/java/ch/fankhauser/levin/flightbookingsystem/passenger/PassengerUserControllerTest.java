@@ -7,6 +7,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import ch.fankhauser.levin.flightbookingsystem.base.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.ResponseEntity;
@@ -25,15 +26,16 @@ class PassengerUserControllerTest {
 	}
 
 	@Test
-	void getAllPassengers_returnsListOfPassengers() {
-		Passenger passenger = new Passenger();
-		when(passengerUserService.findAllPassengers()).thenReturn(List.of(passenger));
+	void getAllPassengers_returnsPageOfPassengers() {
+		PassengerResponseDTO passenger = PassengerResponseDTO.of(new Passenger());
+		when(passengerUserService.findAllPassengers(null, 10)).thenReturn(new CursorPage<>(List.of(passenger), null));
 
-		ResponseEntity<List<Passenger>> response = passengerUserController.getAllPassengers();
+		ResponseEntity<CursorPage<PassengerResponseDTO>> response = passengerUserController.getAllPassengers(null, 10);
 
 		assertEquals(200, response.getStatusCodeValue());
-		assertEquals(1, response.getBody().size());
-		verify(passengerUserService).findAllPassengers();
+		assertEquals(1, response.getBody().items().size());
+		assertNull(response.getBody().nextCursor());
+		verify(passengerUserService).findAllPassengers(null, 10);
 	}
 
 	@Test
@@ -0,0 +1,42 @@
+package ch.fankhauser.levin.flightbookingsystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+class AuthenticationRoleConverterTest {
+
+	private final AuthenticationRoleConverter converter = new AuthenticationRoleConverter(100);
+
+	@Test
+	void convert_mapsClientRoles() {
+		AbstractAuthenticationToken authentication = converter.convert(CachingJwtDecoderTest.token("token", Instant.now().plusSeconds(300), List.of("user")));
+
+		assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("user");
+	}
+
+	@Test
+	void convert_reusesAuthoritiesButNotTheAuthentication() {
+		Instant expiresAt = Instant.now().plusSeconds(300);
+		AbstractAuthenticationToken first = converter.convert(CachingJwtDecoderTest.token("token", expiresAt, List.of("user")));
+		AbstractAuthenticationToken second = converter.convert(CachingJwtDecoderTest.token("token", expiresAt, List.of("admin")));
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("user");
+	}
+
+	@Test
+	void convert_keysAuthoritiesByToken() {
+		Instant expiresAt = Instant.now().plusSeconds(300);
+		converter.convert(CachingJwtDecoderTest.token("user-token", expiresAt, List.of("user")));
+
+		AbstractAuthenticationToken admin = converter.convert(CachingJwtDecoderTest.token("admin-token", expiresAt, List.of("admin")));
+
+		assertThat(admin.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("admin");
+	}
+}
@@ -0,0 +1,70 @@
+package ch.fankhauser.levin.flightbookingsystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+class CachingJwtDecoderTest {
+
+	private JwtDecoder delegate;
+	private CachingJwtDecoder decoder;
+
+	@BeforeEach
+	void setUp() {
+		delegate = mock(JwtDecoder.class);
+		decoder = new CachingJwtDecoder(delegate, 100);
+	}
+
+	static Jwt token(String value, Instant expiresAt, List<String> roles) {
+		return Jwt.withTokenValue(value)
+				.header("alg", "RS256")
+				.subject("user1")
+				.issuedAt(expiresAt.minusSeconds(300))
+				.expiresAt(expiresAt)
+				.claim("resource_access", Map.of("flight-booking-system", Map.of("roles", roles)))
+				.build();
+	}
+
+	@Test
+	void decode_verifiesEachTokenOnce() {
+		Jwt jwt = token("token", Instant.now().plusSeconds(300), List.of("user"));
+		when(delegate.decode("token")).thenReturn(jwt);
+
+		decoder.decode("token");
+
+		assertThat(decoder.decode("token")).isSameAs(jwt);
+		verify(delegate, times(1)).decode("token");
+	}
+
+	@Test
+	void decode_verifiesExpiredTokensAgain() {
+		when(delegate.decode("token")).thenReturn(token("token", Instant.now().minusSeconds(1), List.of("user")));
+
+		decoder.decode("token");
+		decoder.decode("token");
+
+		verify(delegate, times(2)).decode("token");
+	}
+
+	@Test
+	void decode_doesNotCacheRejectedTokens() {
+		when(delegate.decode("token")).thenThrow(new BadJwtException("invalid signature"));
+
+		assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+		assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+		verify(delegate, times(2)).decode("token");
+	}
+}
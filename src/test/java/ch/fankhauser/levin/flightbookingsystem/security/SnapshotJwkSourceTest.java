@@ -0,0 +1,121 @@
+package ch.fankhauser.levin.flightbookingsystem.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SnapshotJwkSourceTest {
+
+	@TempDir
+	private Path directory;
+
+	private HttpServer issuer;
+	private URL jwkSetUrl;
+	private volatile JWKSet published;
+	private final AtomicInteger fetches = new AtomicInteger();
+	private ThreadPoolTaskScheduler taskScheduler;
+	private SnapshotJwkSource jwkSource;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		issuer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		issuer.createContext("/certs", exchange -> {
+			fetches.incrementAndGet();
+			byte[] body = published.toString().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		issuer.start();
+		taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.initialize();
+		jwkSetUrl = new URL("http://localhost:" + issuer.getAddress().getPort() + "/certs");
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (jwkSource != null) {
+			jwkSource.close();
+		}
+		taskScheduler.shutdown();
+		issuer.stop(0);
+	}
+
+	private static RSAKey key(String id) throws JOSEException {
+		return new RSAKeyGenerator(2048).keyID(id).generate();
+	}
+
+	private static JWKSelector byId(String id) {
+		return new JWKSelector(new JWKMatcher.Builder().keyID(id).build());
+	}
+
+	private SnapshotJwkSource start(Path snapshot) {
+		return new SnapshotJwkSource(jwkSetUrl, snapshot, Duration.ofHours(1), Duration.ofHours(1), taskScheduler);
+	}
+
+	@Test
+	void get_servesKeysFromTheSnapshotWithoutContactingTheIssuer() throws Exception {
+		Path snapshot = directory.resolve("jwks.json");
+		Files.writeString(snapshot, new JWKSet(key("current")).toString());
+
+		jwkSource = start(snapshot);
+
+		assertThat(jwkSource.get(byId("current"), null)).hasSize(1);
+		assertThat(fetches).hasValue(0);
+	}
+
+	@Test
+	void get_refreshesOnUnknownKeyAndUpdatesTheSnapshot() throws Exception {
+		Path snapshot = directory.resolve("jwks.json");
+		Files.writeString(snapshot, new JWKSet(key("previous")).toString());
+		published = new JWKSet(key("rotated"));
+		jwkSource = start(snapshot);
+
+		assertThat(jwkSource.get(byId("rotated"), null)).hasSize(1);
+		assertThat(JWKSet.load(snapshot.toFile()).getKeyByKeyId("rotated")).isNotNull();
+		assertThat(fetches).hasValue(1);
+	}
+
+	@Test
+	void get_rateLimitsRefreshesForUnknownKeys() throws Exception {
+		Path snapshot = directory.resolve("jwks.json");
+		Files.writeString(snapshot, new JWKSet(key("current")).toString());
+		published = new JWKSet(key("current"));
+		jwkSource = start(snapshot);
+
+		assertThat(jwkSource.get(byId("forged-1"), null)).isEmpty();
+		assertThat(jwkSource.get(byId("forged-2"), null)).isEmpty();
+		assertThat(fetches).hasValue(1);
+	}
+
+	@Test
+	void get_fetchesKeysWhenThereIsNoSnapshot() throws Exception {
+		published = new JWKSet(key("current"));
+
+		jwkSource = start(directory.resolve("missing/jwks.json"));
+
+		assertThat(jwkSource.get(byId("current"), null)).hasSize(1);
+		assertThat(directory.resolve("missing/jwks.json")).exists();
+	}
+}
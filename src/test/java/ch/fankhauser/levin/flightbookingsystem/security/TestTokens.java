@@ -0,0 +1,50 @@
+package ch.fankhauser.levin.flightbookingsystem.security;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Accepts unsigned tokens of the form {@code username.role1.role2} in place of Keycloak tokens, so tests can call secured
+ * endpoints without an identity provider. The decoded tokens carry their roles as client roles, like Keycloak's do.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestTokens {
+
+	private static final Duration TTL = Duration.ofHours(1);
+
+	/**
+	 * The value of an {@code Authorization} header for the user with the given roles. Usernames must not contain dots.
+	 */
+	public static String bearer(String username, String... roles) {
+		return "Bearer " + Stream.concat(Stream.of(username), Arrays.stream(roles)).collect(Collectors.joining("."));
+	}
+
+	@Bean
+	@Primary
+	public JwtDecoder testJwtDecoder() {
+		return token -> {
+			String[] parts = token.split("\\.");
+			List<String> clientRoles = Arrays.stream(parts, 1, parts.length).map(role -> "ROLE_" + role).toList();
+			Instant now = Instant.now();
+			return Jwt.withTokenValue(token)
+					.header("alg", "none")
+					.subject(parts[0])
+					.issuedAt(now)
+					.expiresAt(now.plus(TTL))
+					.claim("preferred_username", parts[0])
+					.claim("resource_access", Map.of("flight-booking-system", Map.of("roles", clientRoles)))
+					.build();
+		};
+	}
+}